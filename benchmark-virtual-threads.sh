@@ -0,0 +1,105 @@
+#!/bin/bash
+
+# Benchmark de order-service: hilos de plataforma vs hilos virtuales.
+#
+# Arranca el servicio dos veces (SAGA_VIRTUAL_THREADS=false / true), lanza la
+# misma carga de POST /orders contra cada modo y compara throughput y
+# latencias. Además arranca la JVM con -Djdk.tracePinnedThreads=short y
+# resume los hilos virtuales que han quedado fijados (pinned) a su carrier.
+#
+# Requisitos: Kafka levantado (ver start-services-java.sh), JDK 21, curl.
+#
+# Uso: ./benchmark-virtual-threads.sh [peticiones] [concurrencia]
+
+set -euo pipefail
+
+BASE_DIR="$(cd "$(dirname "$0")" && pwd)"
+SERVICE_DIR="$BASE_DIR/saga-architecture-java/order-service"
+REQUESTS="${1:-2000}"
+CONCURRENCY="${2:-400}"
+PORT="${BENCH_PORT:-8080}"
+URL="http://127.0.0.1:$PORT"
+RESULTS_DIR="${BENCH_RESULTS_DIR:-/tmp/saga-benchmark}"
+
+mkdir -p "$RESULTS_DIR"
+
+echo "🔨 Empaquetando order-service..."
+(cd "$SERVICE_DIR" && mvn -q -DskipTests package)
+JAR="$(ls "$SERVICE_DIR"/target/order-service-*.jar | grep -v original | head -1)"
+
+now() {
+    # date +%s.%N no existe en macOS
+    perl -MTime::HiRes=time -e 'printf "%.3f\n", time'
+}
+
+wait_for_health() {
+    for _ in $(seq 1 60); do
+        if curl -sf "$URL/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "❌ order-service no arrancó, revisa $1" >&2
+    return 1
+}
+
+run_load() {
+    # Una línea por petición con el tiempo total en segundos
+    seq "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+        curl -s -o /dev/null -w "%{time_total}\n" \
+        -H "Content-Type: application/json" \
+        -d '{"userId":1,"productId":101,"amount":10.0}' \
+        "$URL/orders"
+}
+
+report() {
+    local mode=$1 latencies=$2 elapsed=$3 log=$4
+    local pinned own
+    pinned=$(grep -c "<== monitors" "$log" || true)
+    own=$(grep "<== monitors" "$log" | grep -c "com.example.saga" || true)
+
+    sort -n "$latencies" | awk -v mode="$mode" -v n="$REQUESTS" -v secs="$elapsed" \
+        -v pinned="$pinned" -v own="$own" '
+        { v[NR] = $1 }
+        END {
+            printf "%-9s %8.1f req/s   p50 %6.1f ms   p95 %6.1f ms   p99 %6.1f ms   pinned %s (propios: %s)\n",
+                mode, n / secs, v[int(NR * 0.50)] * 1000, v[int(NR * 0.95)] * 1000, v[int(NR * 0.99)] * 1000,
+                pinned, own
+        }'
+}
+
+for mode in platform virtual; do
+    log="$RESULTS_DIR/order-service-$mode.log"
+    latencies="$RESULTS_DIR/latencies-$mode.txt"
+    virtual=$([ "$mode" = "virtual" ] && echo true || echo false)
+
+    echo "🚀 Arrancando order-service ($mode threads)..."
+    SAGA_VIRTUAL_THREADS="$virtual" java -Djdk.tracePinnedThreads=short \
+        -jar "$JAR" --server.port="$PORT" > "$log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2> /dev/null || true' EXIT
+    wait_for_health "$log"
+
+    # Calentamiento (JIT, pool de conexiones, metadatos de Kafka)
+    REQUESTS=200 run_load > /dev/null
+
+    echo "📈 $REQUESTS peticiones con concurrencia $CONCURRENCY..."
+    start=$(now)
+    run_load > "$latencies"
+    end=$(now)
+    echo "$mode $(awk -v s="$start" -v e="$end" 'BEGIN { print e - s }')" >> "$RESULTS_DIR/elapsed.txt"
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    trap - EXIT
+done
+
+echo
+echo "📊 Resultados ($REQUESTS peticiones, concurrencia $CONCURRENCY):"
+for mode in platform virtual; do
+    elapsed=$(grep "^$mode " "$RESULTS_DIR/elapsed.txt" | tail -1 | cut -d' ' -f2)
+    report "$mode" "$RESULTS_DIR/latencies-$mode.txt" "$elapsed" "$RESULTS_DIR/order-service-$mode.log"
+done
+echo
+echo "ℹ️  Las trazas de pinning completas están en $RESULTS_DIR/order-service-virtual.log (buscar '<== monitors')."
+echo "    'propios' cuenta las que pasan por código de com.example.saga."
@@ -1,5 +1,8 @@
 package com.example.saga.common;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.UUID;
 
@@ -7,5 +10,8 @@ import java.util.UUID;
 public record PaymentRequestDTO(
         @Schema(description = "ID del usuario", example = "101") Integer userId,
         @Schema(description = "ID del pedido (UUID)") UUID orderId,
-        @Schema(description = "Monto a cobrar", example = "100.0") Double amount) {
+        @Schema(description = "Monto a cobrar", example = "100.00")
+        @JsonProperty("amount")
+        @JsonSerialize(using = CentsAsDecimal.Serializer.class)
+        @JsonDeserialize(using = CentsAsDecimal.Deserializer.class) Long amountCents) {
 }
@@ -7,8 +7,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.function.Consumer;
 
 @Controller
@@ -30,7 +33,11 @@ public class InventoryConsumer {
                 inventoryService.addInventory(inventoryRequest);
             } else {
                 InventoryEvent event = inventoryService.deductInventory(inventoryRequest);
-                streamBridge.send("inventory-events-out-0", event);
+                // Clave = orderId: los eventos de una orden mantienen su orden por partición
+                streamBridge.send("inventory-events-out-0", MessageBuilder.withPayload(event)
+                        .setHeader(KafkaHeaders.KEY,
+                                inventoryRequest.orderId().toString().getBytes(StandardCharsets.UTF_8))
+                        .build());
             }
         };
     }
@@ -0,0 +1,92 @@
+package com.example.saga.order.benchmark;
+
+import com.example.saga.common.InventoryEvent;
+import com.example.saga.common.InventoryRequestDTO;
+import com.example.saga.common.InventoryStatus;
+import com.example.saga.common.OrderEvent;
+import com.example.saga.common.OrderRequestDTO;
+import com.example.saga.common.OrderStatus;
+import com.example.saga.common.PaymentEvent;
+import com.example.saga.common.PaymentRequestDTO;
+import com.example.saga.common.PaymentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la serialización JSON de los eventos de integración que viajan
+ * por Kafka, con el mismo ObjectMapper por defecto que usa el binder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderEvent orderEvent;
+    private PaymentEvent paymentEvent;
+    private InventoryEvent inventoryEvent;
+    private byte[] orderEventJson;
+    private byte[] paymentEventJson;
+    private byte[] inventoryEventJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        UUID orderId = UUID.randomUUID();
+        orderEvent = new OrderEvent(
+                new OrderRequestDTO(101, 202, 15000L, orderId), OrderStatus.ORDER_CREATED);
+        paymentEvent = new PaymentEvent(
+                new PaymentRequestDTO(101, 202, orderId, 15000L), PaymentStatus.PAYMENT_COMPLETED);
+        inventoryEvent = new InventoryEvent(
+                new InventoryRequestDTO(101, 202, orderId), InventoryStatus.INVENTORY_RESERVED);
+        orderEventJson = objectMapper.writeValueAsBytes(orderEvent);
+        paymentEventJson = objectMapper.writeValueAsBytes(paymentEvent);
+        inventoryEventJson = objectMapper.writeValueAsBytes(inventoryEvent);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderEvent() throws IOException {
+        return objectMapper.writeValueAsBytes(orderEvent);
+    }
+
+    @Benchmark
+    public byte[] serializePaymentEvent() throws IOException {
+        return objectMapper.writeValueAsBytes(paymentEvent);
+    }
+
+    @Benchmark
+    public byte[] serializeInventoryEvent() throws IOException {
+        return objectMapper.writeValueAsBytes(inventoryEvent);
+    }
+
+    @Benchmark
+    public OrderEvent deserializeOrderEvent() throws IOException {
+        return objectMapper.readValue(orderEventJson, OrderEvent.class);
+    }
+
+    @Benchmark
+    public PaymentEvent deserializePaymentEvent() throws IOException {
+        return objectMapper.readValue(paymentEventJson, PaymentEvent.class);
+    }
+
+    @Benchmark
+    public InventoryEvent deserializeInventoryEvent() throws IOException {
+        return objectMapper.readValue(inventoryEventJson, InventoryEvent.class);
+    }
+}
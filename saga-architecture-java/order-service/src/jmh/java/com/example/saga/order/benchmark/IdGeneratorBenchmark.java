@@ -0,0 +1,45 @@
+package com.example.saga.order.benchmark;
+
+import com.example.saga.order.domain.model.IdGenerator;
+import com.example.saga.order.domain.model.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de generar un ID con UUID.randomUUID() (SecureRandom compartido)
+ * frente a TimeOrderedIdGenerator (CAS + ThreadLocalRandom), con varios hilos
+ * compitiendo como en el camino de creación de órdenes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator random = IdGenerator.RANDOM;
+    private final IdGenerator timeOrdered = new TimeOrderedIdGenerator();
+
+    @Benchmark
+    public UUID random() {
+        return random.generate();
+    }
+
+    @Benchmark
+    public UUID timeOrdered() {
+        return timeOrdered.generate();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.saga.order.benchmark;
+
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del agregado Order y del Value Object Money.
+ * Mide la creación de órdenes, la cadena completa de transiciones del camino
+ * feliz de la saga y la aritmética/normalización de importes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderDomainBenchmark {
+
+    private final UserId userId = UserId.of(101);
+    private final ProductId productId = ProductId.of(202);
+    private final Money price = Money.of(150.0);
+    private final Money fee = Money.of(2.5);
+    private final BigDecimal unnormalized = new BigDecimal("99.999");
+
+    @Benchmark
+    public Order createOrder() {
+        return Order.create(userId, productId, price);
+    }
+
+    @Benchmark
+    public Order happyPathTransitions() {
+        Order order = Order.create(userId, productId, price);
+        order.markPaymentPending();
+        order.confirmPayment();
+        order.markInventoryPending();
+        order.confirmInventory();
+        order.complete();
+        return order;
+    }
+
+    @Benchmark
+    public Money moneyOfDouble() {
+        return Money.of(150.0);
+    }
+
+    @Benchmark
+    public Money moneyNormalization() {
+        return Money.of(unnormalized);
+    }
+
+    @Benchmark
+    public Money moneyAddSubtract() {
+        return price.add(fee).subtract(fee);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.saga.order.benchmark;
+
+import com.example.saga.order.domain.model.IdGenerator;
+import com.example.saga.order.domain.model.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserción de órdenes en H2 (fichero) con claves UUIDv4 aleatorias frente a
+ * UUIDv7 ordenadas por tiempo. Con claves aleatorias cada lote cae en páginas
+ * distintas del índice de la clave primaria y las divide; con UUIDv7 se
+ * añaden al final. El tamaño del fichero de base de datos se imprime al
+ * terminar cada iteración.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO orders (id, user_id, product_id, price_cents, order_status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Param({"random", "time-ordered"})
+    private String generator;
+
+    private IdGenerator idGenerator;
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long inserted;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, SQLException {
+        idGenerator = "random".equals(generator) ? IdGenerator.RANDOM : new TimeOrderedIdGenerator();
+        directory = Files.createTempDirectory("order-id-bench");
+        connection = DriverManager.getConnection("jdbc:h2:" + directory.resolve("orders") + ";DB_CLOSE_DELAY=0");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TABLE orders (
+                        id UUID PRIMARY KEY,
+                        user_id INT,
+                        product_id INT,
+                        price_cents BIGINT,
+                        order_status VARCHAR(255),
+                        created_at TIMESTAMP WITH TIME ZONE,
+                        updated_at TIMESTAMP WITH TIME ZONE)
+                    """);
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(INSERT_SQL);
+        inserted = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, idGenerator.generate());
+            insert.setInt(2, 101);
+            insert.setInt(3, 202);
+            insert.setLong(4, 15000);
+            insert.setString(5, "CREATED");
+            insert.setObject(6, now);
+            insert.setObject(7, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        inserted += BATCH_SIZE;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException, SQLException {
+        insert.close();
+        try (Statement shutdown = connection.createStatement()) {
+            shutdown.execute("SHUTDOWN");
+        }
+        connection.close();
+        Path file = directory.resolve("orders.mv.db");
+        long bytes = Files.size(file);
+        System.out.printf("%n%s: %d filas, %d KiB en disco (%.1f bytes/fila)%n",
+                generator, inserted, bytes / 1024, (double) bytes / inserted);
+        Files.delete(file);
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.saga.order.benchmark;
+
+import com.example.saga.common.InventoryRequestDTO;
+import com.example.saga.common.OrderRequestDTO;
+import com.example.saga.common.PaymentRequestDTO;
+import com.example.saga.order.domain.event.OrderCreatedDomainEvent;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.output.InventoryCommandSender.ReserveInventoryCommand;
+import com.example.saga.order.domain.port.output.PaymentCommandSender.ProcessPaymentCommand;
+import com.example.saga.order.infrastructure.adapter.output.messaging.OrderIntegrationMapper;
+import com.example.saga.order.infrastructure.adapter.output.persistence.OrderJpaEntity;
+import com.example.saga.order.infrastructure.adapter.output.persistence.OrderPersistenceMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los mappers que recorre cada paso de la saga:
+ * dominio ↔ JPA (OrderPersistenceMapper) y dominio → DTOs de integración
+ * (OrderIntegrationMapper generado por MapStruct).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    private final OrderPersistenceMapper persistenceMapper = new OrderPersistenceMapper();
+    private final OrderIntegrationMapper integrationMapper = Mappers.getMapper(OrderIntegrationMapper.class);
+
+    private Order order;
+    private OrderJpaEntity entity;
+    private OrderCreatedDomainEvent createdEvent;
+    private ProcessPaymentCommand paymentCommand;
+    private ReserveInventoryCommand inventoryCommand;
+
+    @Setup
+    public void setUp() {
+        order = Order.create(UserId.of(101), ProductId.of(202), Money.of(150.0));
+        entity = persistenceMapper.toJpaEntity(order);
+        createdEvent = (OrderCreatedDomainEvent) order.getDomainEvents().get(0);
+        paymentCommand = new ProcessPaymentCommand(
+                order.getId(), order.getUserId(), order.getProductId(), order.getPrice());
+        inventoryCommand = new ReserveInventoryCommand(
+                order.getId(), order.getUserId(), order.getProductId());
+    }
+
+    @Benchmark
+    public OrderJpaEntity toJpaEntity() {
+        return persistenceMapper.toJpaEntity(order);
+    }
+
+    @Benchmark
+    public Order toDomainEntity() {
+        return persistenceMapper.toDomainEntity(entity);
+    }
+
+    @Benchmark
+    public Order persistenceRoundTrip() {
+        return persistenceMapper.toDomainEntity(persistenceMapper.toJpaEntity(order));
+    }
+
+    @Benchmark
+    public OrderRequestDTO toOrderRequest() {
+        return integrationMapper.toOrderRequest(createdEvent);
+    }
+
+    @Benchmark
+    public PaymentRequestDTO toPaymentRequest() {
+        return integrationMapper.toPaymentRequest(paymentCommand);
+    }
+
+    @Benchmark
+    public InventoryRequestDTO toInventoryRequest() {
+        return integrationMapper.toInventoryRequest(inventoryCommand);
+    }
+}
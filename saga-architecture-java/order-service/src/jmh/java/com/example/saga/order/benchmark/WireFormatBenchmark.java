@@ -0,0 +1,91 @@
+package com.example.saga.order.benchmark;
+
+import com.example.saga.common.InventoryRequestDTO;
+import com.example.saga.common.PaymentEvent;
+import com.example.saga.common.PaymentRequestDTO;
+import com.example.saga.common.PaymentStatus;
+import com.example.saga.common.SagaBinaryCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparativa JSON frente al formato binario compacto (SagaBinaryCodec) para
+ * un evento y un comando de la saga. Con -prof gc se ven también los bytes
+ * asignados por operación; el tamaño en el cable se imprime en el setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private PaymentEvent paymentEvent;
+    private InventoryRequestDTO inventoryRequest;
+    private byte[] paymentEventBytes;
+    private byte[] inventoryRequestBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        UUID orderId = UUID.randomUUID();
+        paymentEvent = new PaymentEvent(
+                new PaymentRequestDTO(101, 202, orderId, 15000L), PaymentStatus.PAYMENT_COMPLETED);
+        inventoryRequest = new InventoryRequestDTO(101, 202, orderId);
+        paymentEventBytes = encode(paymentEvent);
+        inventoryRequestBytes = encode(inventoryRequest);
+        System.out.printf("%n%s: PaymentEvent = %d bytes, InventoryRequestDTO = %d bytes%n",
+                format, paymentEventBytes.length, inventoryRequestBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodePaymentEvent() throws IOException {
+        return encode(paymentEvent);
+    }
+
+    @Benchmark
+    public PaymentEvent decodePaymentEvent() throws IOException {
+        return decode(paymentEventBytes, PaymentEvent.class);
+    }
+
+    @Benchmark
+    public byte[] encodeInventoryRequest() throws IOException {
+        return encode(inventoryRequest);
+    }
+
+    @Benchmark
+    public InventoryRequestDTO decodeInventoryRequest() throws IOException {
+        return decode(inventoryRequestBytes, InventoryRequestDTO.class);
+    }
+
+    private byte[] encode(Object payload) throws IOException {
+        return "binary".equals(format)
+                ? SagaBinaryCodec.encode(payload)
+                : objectMapper.writeValueAsBytes(payload);
+    }
+
+    private <T> T decode(byte[] bytes, Class<T> type) throws IOException {
+        return "binary".equals(format)
+                ? SagaBinaryCodec.decode(bytes, type)
+                : objectMapper.readValue(bytes, type);
+    }
+}
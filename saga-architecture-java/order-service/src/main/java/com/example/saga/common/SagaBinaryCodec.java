@@ -0,0 +1,250 @@
+package com.example.saga.common;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Formato binario compacto de los DTOs de integración de la saga.
+ *
+ * Cada mensaje empieza por el byte de versión del esquema y un byte con el
+ * tipo; después van los campos en orden fijo, sin nombres:
+ * - DTOs de petición: un byte con la máscara de campos presentes y los
+ *   campos no nulos (Integer = 4 bytes, Long = 8, UUID = 16).
+ * - Eventos: el estado (1 byte, ordinal + 1; 0 = null) y la petición
+ *   (1 byte de presencia + su cuerpo).
+ *
+ * El esquema (versión 2) es el contrato entre servicios, no la forma del
+ * record: PaymentRequest lleva siempre userId, productId, orderId y
+ * amountCents. La versión 1 llevaba los importes como Double.
+ * Los enums solo pueden crecer añadiendo constantes al final; cualquier otro
+ * cambio de campos o códigos exige una nueva versión.
+ */
+public final class SagaBinaryCodec {
+
+    public static final byte VERSION = 2;
+
+    private static final byte ORDER_REQUEST = 1;
+    private static final byte PAYMENT_REQUEST = 2;
+    private static final byte INVENTORY_REQUEST = 3;
+    private static final byte ORDER_EVENT = 4;
+    private static final byte PAYMENT_EVENT = 5;
+    private static final byte INVENTORY_EVENT = 6;
+
+    private static final Map<Class<?>, Byte> TYPES = Map.of(
+            OrderRequestDTO.class, ORDER_REQUEST,
+            PaymentRequestDTO.class, PAYMENT_REQUEST,
+            InventoryRequestDTO.class, INVENTORY_REQUEST,
+            OrderEvent.class, ORDER_EVENT,
+            PaymentEvent.class, PAYMENT_EVENT,
+            InventoryEvent.class, INVENTORY_EVENT);
+
+    // Versión + tipo + el cuerpo más grande posible (evento con petición completa)
+    private static final int MAX_SIZE = 2 + 2 + 1 + 4 + 4 + 16 + 8;
+
+    private SagaBinaryCodec() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return TYPES.containsKey(type);
+    }
+
+    public static byte[] encode(Object payload) {
+        Byte type = TYPES.get(payload.getClass());
+        if (type == null) {
+            throw new IllegalArgumentException("Unsupported saga payload type: " + payload.getClass().getName());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_SIZE);
+        buffer.put(VERSION).put(type);
+        switch (payload) {
+            case OrderRequestDTO request -> writeOrderRequest(buffer, request);
+            case PaymentRequestDTO request -> writePaymentRequest(buffer, request);
+            case InventoryRequestDTO request -> writeInventoryRequest(buffer, request);
+            case OrderEvent event -> {
+                writeEnum(buffer, event.status());
+                if (writePresence(buffer, event.orderRequest())) {
+                    writeOrderRequest(buffer, event.orderRequest());
+                }
+            }
+            case PaymentEvent event -> {
+                writeEnum(buffer, event.status());
+                if (writePresence(buffer, event.paymentRequest())) {
+                    writePaymentRequest(buffer, event.paymentRequest());
+                }
+            }
+            case InventoryEvent event -> {
+                writeEnum(buffer, event.status());
+                if (writePresence(buffer, event.inventoryRequest())) {
+                    writeInventoryRequest(buffer, event.inventoryRequest());
+                }
+            }
+            default -> throw new IllegalStateException("Unreachable");
+        }
+
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+
+    public static <T> T decode(byte[] bytes, Class<T> type) {
+        Byte expectedType = TYPES.get(type);
+        if (expectedType == null) {
+            throw new IllegalArgumentException("Unsupported saga payload type: " + type.getName());
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported saga wire format version: " + version);
+            }
+            byte actualType = buffer.get();
+            if (actualType != expectedType) {
+                throw new IllegalArgumentException("Saga payload type " + actualType
+                        + " does not match expected " + type.getSimpleName());
+            }
+
+            Object payload = switch (actualType) {
+                case ORDER_REQUEST -> readOrderRequest(buffer);
+                case PAYMENT_REQUEST -> readPaymentRequest(buffer);
+                case INVENTORY_REQUEST -> readInventoryRequest(buffer);
+                case ORDER_EVENT -> {
+                    OrderStatus status = readEnum(buffer, OrderStatus.values());
+                    yield new OrderEvent(buffer.get() == 1 ? readOrderRequest(buffer) : null, status);
+                }
+                case PAYMENT_EVENT -> {
+                    PaymentStatus status = readEnum(buffer, PaymentStatus.values());
+                    yield new PaymentEvent(buffer.get() == 1 ? readPaymentRequest(buffer) : null, status);
+                }
+                case INVENTORY_EVENT -> {
+                    InventoryStatus status = readEnum(buffer, InventoryStatus.values());
+                    yield new InventoryEvent(buffer.get() == 1 ? readInventoryRequest(buffer) : null, status);
+                }
+                default -> throw new IllegalStateException("Unreachable");
+            };
+            return type.cast(payload);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated saga payload for " + type.getSimpleName(), e);
+        }
+    }
+
+    // ==================== PETICIONES ====================
+
+    private static void writeOrderRequest(ByteBuffer buffer, OrderRequestDTO request) {
+        buffer.put(mask(request.userId(), request.productId(), request.amountCents(), request.orderId()));
+        writeInt(buffer, request.userId());
+        writeInt(buffer, request.productId());
+        writeLong(buffer, request.amountCents());
+        writeUuid(buffer, request.orderId());
+    }
+
+    private static OrderRequestDTO readOrderRequest(ByteBuffer buffer) {
+        byte mask = buffer.get();
+        return new OrderRequestDTO(
+                readInt(buffer, mask, 0),
+                readInt(buffer, mask, 1),
+                readLong(buffer, mask, 2),
+                readUuid(buffer, mask, 3));
+    }
+
+    private static void writePaymentRequest(ByteBuffer buffer, PaymentRequestDTO request) {
+        buffer.put(mask(request.userId(), request.productId(), request.orderId(), request.amountCents()));
+        writeInt(buffer, request.userId());
+        writeInt(buffer, request.productId());
+        writeUuid(buffer, request.orderId());
+        writeLong(buffer, request.amountCents());
+    }
+
+    private static PaymentRequestDTO readPaymentRequest(ByteBuffer buffer) {
+        byte mask = buffer.get();
+        return new PaymentRequestDTO(
+                readInt(buffer, mask, 0),
+                readInt(buffer, mask, 1),
+                readUuid(buffer, mask, 2),
+                readLong(buffer, mask, 3));
+    }
+
+    private static void writeInventoryRequest(ByteBuffer buffer, InventoryRequestDTO request) {
+        buffer.put(mask(request.userId(), request.productId(), request.orderId()));
+        writeInt(buffer, request.userId());
+        writeInt(buffer, request.productId());
+        writeUuid(buffer, request.orderId());
+    }
+
+    private static InventoryRequestDTO readInventoryRequest(ByteBuffer buffer) {
+        byte mask = buffer.get();
+        return new InventoryRequestDTO(
+                readInt(buffer, mask, 0),
+                readInt(buffer, mask, 1),
+                readUuid(buffer, mask, 2));
+    }
+
+    // ==================== CAMPOS ====================
+
+    private static byte mask(Object... fields) {
+        int mask = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                mask |= 1 << i;
+            }
+        }
+        return (byte) mask;
+    }
+
+    private static boolean present(byte mask, int field) {
+        return (mask & (1 << field)) != 0;
+    }
+
+    private static boolean writePresence(ByteBuffer buffer, Object value) {
+        buffer.put((byte) (value != null ? 1 : 0));
+        return value != null;
+    }
+
+    private static void writeInt(ByteBuffer buffer, Integer value) {
+        if (value != null) {
+            buffer.putInt(value);
+        }
+    }
+
+    private static Integer readInt(ByteBuffer buffer, byte mask, int field) {
+        return present(mask, field) ? buffer.getInt() : null;
+    }
+
+    private static void writeLong(ByteBuffer buffer, Long value) {
+        if (value != null) {
+            buffer.putLong(value);
+        }
+    }
+
+    private static Long readLong(ByteBuffer buffer, byte mask, int field) {
+        return present(mask, field) ? buffer.getLong() : null;
+    }
+
+    private static void writeUuid(ByteBuffer buffer, UUID value) {
+        if (value != null) {
+            buffer.putLong(value.getMostSignificantBits()).putLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(ByteBuffer buffer, byte mask, int field) {
+        return present(mask, field) ? new UUID(buffer.getLong(), buffer.getLong()) : null;
+    }
+
+    private static void writeEnum(ByteBuffer buffer, Enum<?> value) {
+        buffer.put((byte) (value != null ? value.ordinal() + 1 : 0));
+    }
+
+    private static <E extends Enum<E>> E readEnum(ByteBuffer buffer, E[] values) {
+        int code = buffer.get();
+        if (code == 0) {
+            return null;
+        }
+        if (code < 0 || code > values.length) {
+            throw new IllegalArgumentException("Unknown " + values.getClass().getComponentType().getSimpleName()
+                    + " code: " + code);
+        }
+        return values[code - 1];
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.saga.common;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.MimeType;
+
+/**
+ * Conversor de Spring Cloud Stream para el formato de {@link SagaBinaryCodec}.
+ *
+ * Se elige por binding con content-type application/x-saga-binary. Al
+ * consumir solo actúa si el mensaje lleva esa cabecera contentType, de modo
+ * que un mismo consumidor acepta JSON y binario durante una migración.
+ */
+public class SagaBinaryMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType SAGA_BINARY = MimeType.valueOf("application/x-saga-binary");
+
+    public SagaBinaryMessageConverter() {
+        super(SAGA_BINARY);
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SagaBinaryCodec.supports(clazz);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[] bytes)) {
+            return null;
+        }
+        return SagaBinaryCodec.decode(bytes, targetClass);
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return SagaBinaryCodec.encode(payload);
+    }
+}
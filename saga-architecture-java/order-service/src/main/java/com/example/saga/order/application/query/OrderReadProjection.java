@@ -0,0 +1,185 @@
+package com.example.saga.order.application.query;
+
+import com.example.saga.order.domain.event.OrderCreatedDomainEvent;
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.input.GetOrderUseCase;
+import com.example.saga.order.domain.port.input.GetOrderViewUseCase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Proyección de lectura en memoria de las órdenes (lado de consulta CQRS).
+ *
+ * Sirve GET /orders/{orderId} sin abrir transacción ni pedir conexión a la
+ * base de datos. Se alimenta de los eventos de dominio tras el commit:
+ * OrderCreatedDomainEvent crea la vista y cada OrderStatusChangedDomainEvent
+ * la actualiza.
+ *
+ * - Acotada: LRU con saga.projection.max-size vistas.
+ * - Si la orden no está (expulsada, creada antes del arranque) se lee una
+ *   vez de la base de datos con GetOrderUseCase y se guarda.
+ * - Las vistas de órdenes en estado terminal ya no cambian. Las de sagas en
+ *   curso se releen de la base de datos si no se han actualizado en
+ *   saga.projection.in-flight-ttl: con varias instancias, los pasos de una
+ *   orden pueden procesarse en otra y esta no ve sus eventos.
+ * - Un evento que no encaja con el estado de la vista (llegó desordenado o
+ *   se perdió uno anterior) la invalida.
+ */
+@Component
+@Slf4j
+public class OrderReadProjection implements GetOrderViewUseCase {
+
+    private static final String CACHE_NAME = "order-views";
+
+    private final GetOrderUseCase getOrderUseCase;
+    private final int maxSize;
+    private final long inFlightTtlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<OrderId, Projected> views;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public OrderReadProjection(GetOrderUseCase getOrderUseCase,
+            @Value("${saga.projection.max-size:50000}") int maxSize,
+            @Value("${saga.projection.in-flight-ttl:PT2S}") Duration inFlightTtl,
+            MeterRegistry meterRegistry) {
+        this.getOrderUseCase = getOrderUseCase;
+        this.maxSize = maxSize;
+        this.inFlightTtlNanos = inFlightTtl.toNanos();
+        this.views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<OrderId, Projected> eldest) {
+                return size() > OrderReadProjection.this.maxSize;
+            }
+        };
+        registerMetrics(meterRegistry);
+    }
+
+    @Override
+    public Optional<OrderView> execute(OrderId orderId) {
+        Projected projected = get(orderId);
+        if (projected != null && projected.isFresh(System.nanoTime(), inFlightTtlNanos)) {
+            hits.incrementAndGet();
+            return Optional.of(projected.view());
+        }
+
+        misses.incrementAndGet();
+        Optional<OrderView> loaded = getOrderUseCase.execute(orderId).map(OrderView::of);
+        loaded.ifPresent(this::refresh);
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCreated(OrderCreatedDomainEvent event) {
+        put(new OrderView(event.orderId(), event.userId(), event.productId(), event.amount(),
+                OrderStatus.CREATED, event.occurredOn(), event.occurredOn()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChanged(OrderStatusChangedDomainEvent event) {
+        lock.lock();
+        try {
+            Projected projected = views.get(event.orderId());
+            if (projected == null) {
+                // Sin la vista no se conocen el resto de campos: se cargará al leerla
+                return;
+            }
+            if (projected.view().status() != event.previousStatus()) {
+                log.debug("Projection: order {} is {} but event moves {} -> {}, invalidating",
+                        event.orderId(), projected.view().status(), event.previousStatus(), event.newStatus());
+                views.remove(event.orderId());
+                return;
+            }
+            views.put(event.orderId(), new Projected(
+                    projected.view().withStatus(event.newStatus(), event.occurredOn()), System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private Projected get(OrderId orderId) {
+        lock.lock();
+        try {
+            return views.get(orderId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(OrderView view) {
+        lock.lock();
+        try {
+            views.put(view.orderId(), new Projected(view, System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda una vista leída de la base de datos salvo que un evento haya
+     * dejado entretanto una más reciente.
+     */
+    private void refresh(OrderView loaded) {
+        lock.lock();
+        try {
+            Projected current = views.get(loaded.orderId());
+            if (current == null || !current.view().updatedAt().isAfter(loaded.updatedAt())) {
+                views.put(loaded.orderId(), new Projected(loaded, System.nanoTime()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return views.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Consultas de órdenes servidas desde la proyección")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Consultas de órdenes que fueron a la base de datos")
+                .register(registry);
+        Gauge.builder("cache.size", this, OrderReadProjection::size)
+                .tag("cache", CACHE_NAME)
+                .description("Órdenes en la proyección de lectura")
+                .register(registry);
+    }
+
+    /**
+     * Vista y momento (System.nanoTime) en que se actualizó por última vez.
+     */
+    private record Projected(OrderView view, long refreshedAt) {
+
+        boolean isFresh(long now, long inFlightTtlNanos) {
+            return view.status().isTerminal() || now - refreshedAt < inFlightTtlNanos;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.saga.order.application.query;
+
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Vigila en el almacén las órdenes por las que esperan peticiones de esta
+ * instancia (esperas del resultado de la saga, streams SSE).
+ *
+ * Las transiciones que confirma esta instancia llegan al momento como
+ * eventos de dominio, pero con varias instancias la mayoría de pasos se
+ * procesan en otra y solo se ven en la base de datos. Cada
+ * saga.watch.poll-interval-ms se leen de una vez, sin caché, las órdenes
+ * vigiladas y se entregan a sus oyentes. Sin órdenes vigiladas no hay
+ * consulta, y el coste depende de las esperas abiertas, no del tamaño de la
+ * tabla.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatusWatcher {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final Map<OrderId, Set<Consumer<Order>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Empieza a vigilar una orden.
+     *
+     * @param orderId  Orden a vigilar
+     * @param listener Recibe el estado confirmado de la orden en cada consulta
+     * @return Acción que deja de vigilarla
+     */
+    public Runnable watch(OrderId orderId, Consumer<Order> listener) {
+        listeners.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(listener);
+        return () -> listeners.computeIfPresent(orderId, (id, watching) -> {
+            watching.remove(listener);
+            return watching.isEmpty() ? null : watching;
+        });
+    }
+
+    /**
+     * Lee el estado confirmado de una orden, sin caché.
+     */
+    public Optional<Order> current(OrderId orderId) {
+        return orderRepository.findAllByIdFromStore(List.of(orderId)).stream().findFirst();
+    }
+
+    @Scheduled(fixedDelayString = "${saga.watch.poll-interval-ms:500}")
+    public void poll() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        List<OrderId> orderIds = new ArrayList<>(listeners.keySet());
+        for (int from = 0; from < orderIds.size(); from += PAGE_SIZE) {
+            List<OrderId> page = orderIds.subList(from, Math.min(from + PAGE_SIZE, orderIds.size()));
+            orderRepository.findAllByIdFromStore(page).forEach(this::notify);
+        }
+        log.trace("Watch: polled {} orders", orderIds.size());
+    }
+
+    private void notify(Order order) {
+        Set<Consumer<Order>> watching = listeners.get(order.getId());
+        if (watching != null) {
+            watching.forEach(listener -> listener.accept(order));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.saga.order.application.saga;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rueda de tiempo con hash (hashed timing wheel) para plazos identificados por clave.
+ *
+ * El tiempo se divide en ticks de duración fija y cada plazo se guarda en el
+ * cubo (tick absoluto % tamaño de la rueda). Programar y cancelar son O(1) y
+ * avanzar un tick solo recorre un cubo, independientemente del número total
+ * de plazos. Una clave tiene como máximo un plazo: volver a programarla lo
+ * sustituye.
+ *
+ * No tiene hilo propio: quien la usa llama a {@link #advance(Instant)}
+ * periódicamente y recibe las claves vencidas.
+ */
+final class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Set<K>[] buckets;
+    private final Map<K, Long> deadlineTicks = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(Duration tick, int wheelSize, Instant start) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tick.toMillis();
+        this.mask = wheelSize - 1;
+        this.buckets = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new LinkedHashSet<>();
+        }
+        this.currentTick = tickOf(start);
+    }
+
+    /**
+     * Programa (o reprograma) el plazo de una clave. Un plazo ya pasado vence
+     * en el siguiente avance.
+     */
+    void schedule(K key, Instant deadline) {
+        lock.lock();
+        try {
+            long tick = Math.max(Math.ceilDiv(deadline.toEpochMilli(), tickMillis), currentTick + 1);
+            Long previous = deadlineTicks.put(key, tick);
+            if (previous != null) {
+                if (previous == tick) {
+                    return;
+                }
+                bucketOf(previous).remove(key);
+            }
+            bucketOf(tick).add(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancela el plazo de una clave, si lo tiene.
+     */
+    void cancel(K key) {
+        lock.lock();
+        try {
+            Long tick = deadlineTicks.remove(key);
+            if (tick != null) {
+                bucketOf(tick).remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta el instante dado y devuelve las claves vencidas.
+     * Si se han perdido más ticks que cubos tiene la rueda, se recorre cada
+     * cubo una sola vez.
+     */
+    List<K> advance(Instant now) {
+        lock.lock();
+        try {
+            long targetTick = tickOf(now);
+            if (targetTick <= currentTick) {
+                return List.of();
+            }
+
+            List<K> expired = new ArrayList<>();
+            long steps = Math.min(targetTick - currentTick, buckets.length);
+            for (long i = 1; i <= steps; i++) {
+                Iterator<K> it = bucketOf(currentTick + i).iterator();
+                while (it.hasNext()) {
+                    K key = it.next();
+                    if (deadlineTicks.get(key) <= targetTick) {
+                        it.remove();
+                        deadlineTicks.remove(key);
+                        expired.add(key);
+                    }
+                }
+            }
+            currentTick = targetTick;
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Número de plazos pendientes en la rueda.
+     */
+    int size() {
+        lock.lock();
+        try {
+            return deadlineTicks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private Set<K> bucketOf(long tick) {
+        return buckets[(int) (tick & mask)];
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.event.OrderCreatedDomainEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Inicia la saga en el propio proceso en cuanto la transacción de creación
+ * hace commit, sin esperar a leer OrderCreated de vuelta desde Kafka.
+ *
+ * Solo se activa con saga.start-mode=in-process. El consumidor de
+ * order-events sigue activo como respaldo duradero: si la instancia cae o
+ * este inicio falla entre el commit y el primer paso, OrderCreated llega
+ * después por Kafka y arranca la saga. Ambos caminos reclaman la misma clave
+ * en ProcessedMessages, así que solo uno aplica el paso.
+ *
+ * Mientras el paso no hace commit, la clave queda bloqueada: el primer
+ * envío de comandos crea el binding de Spring Cloud Stream (topic y
+ * productor) bajo el cerrojo de StreamBridge y puede tardar segundos, y el
+ * camino que pierde la carrera espera a ese bloqueo o falla por timeout.
+ *
+ * Se ejecuta en otro hilo (@Async): tras el commit los recursos de la
+ * transacción original siguen ligados al hilo de la petición, y la respuesta
+ * REST no espera al primer paso de la saga.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "saga.start-mode", havingValue = "in-process")
+public class InProcessSagaStarter {
+
+    private final OrderSagaOrchestrator sagaOrchestrator;
+    private final ProcessedMessages processedMessages;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCreated(OrderCreatedDomainEvent event) {
+        log.debug("Saga: starting in-process for order {}", event.orderId());
+        String messageKey = ProcessedMessages.messageKey(ProcessedMessages.ORDER_CREATED_STEP, event.orderId());
+        try {
+            sagaOrchestrator.retryOnConflict(() ->
+                    processedMessages.runOnce(messageKey, () -> sagaOrchestrator.onOrderCreated(event.orderId())));
+        } catch (RuntimeException e) {
+            // Típicamente el consumidor de order-events tiene la clave reclamada y
+            // el INSERT agota la espera del bloqueo: ese camino aplica el paso o,
+            // si se deshace, Kafka reentrega el evento
+            log.warn("Saga: in-process start of order {} failed, order-events will start it: {}",
+                    event.orderId(), e.getMessage());
+        }
+    }
+}
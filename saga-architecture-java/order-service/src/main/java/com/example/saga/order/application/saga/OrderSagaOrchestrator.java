@@ -1,19 +1,41 @@
 package com.example.saga.order.application.saga;
 
+import com.example.saga.order.domain.event.DomainEvent;
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
+import com.example.saga.order.domain.exception.DomainException;
 import com.example.saga.order.domain.exception.OrderNotFoundException;
 import com.example.saga.order.domain.model.Order;
 import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
 import com.example.saga.order.domain.port.output.DomainEventPublisher;
 import com.example.saga.order.domain.port.output.InventoryCommandSender;
+import com.example.saga.order.domain.port.output.InventoryCommandSender.ReleaseInventoryCommand;
 import com.example.saga.order.domain.port.output.InventoryCommandSender.ReserveInventoryCommand;
 import com.example.saga.order.domain.port.output.OrderRepository;
 import com.example.saga.order.domain.port.output.PaymentCommandSender;
 import com.example.saga.order.domain.port.output.PaymentCommandSender.ProcessPaymentCommand;
 import com.example.saga.order.domain.port.output.PaymentCommandSender.RefundPaymentCommand;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository.SagaDeadline;
+import com.example.saga.order.domain.port.output.SagaJournal;
+import com.example.saga.order.domain.port.output.SagaJournal.Entry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 /**
  * Orquestador de la Saga de creación de órdenes.
@@ -31,6 +53,34 @@ import org.springframework.transaction.annotation.Transactional;
  * Compensaciones:
  * - Pago fallido -> Cancelar orden
  * - Inventario fallido -> Reembolsar pago + Cancelar orden
+ * - Plazo de pago vencido -> Cancelar orden + Reembolso preventivo
+ * - Plazo de inventario vencido -> Reembolsar pago + Cancelar orden
+ *
+ * Con saga.mode=parallel los comandos de pago y de reserva salen juntos
+ * (PAYMENT_AND_INVENTORY_PENDING) y la orden se completa cuando han llegado
+ * las dos confirmaciones, en cualquier orden. Si solo una pata tiene éxito se
+ * compensa esa pata: un reembolso si se cobró, una liberación de stock si se
+ * reservó. Los pasos deciden por el estado de la orden y no por el modo, así
+ * que cambiar de modo no afecta a las sagas en curso.
+ *
+ * Mientras una orden espera respuesta (cualquier estado *_PENDING) tiene un
+ * plazo en saga_deadline, que se registra o elimina en la misma
+ * transacción que la transición. SagaTimeoutScheduler dispara los vencidos.
+ * Además, cada comando enviado y cada resultado recibido se anotan en el
+ * diario local (SagaJournal) para recuperar las sagas en curso al arrancar.
+ *
+ * Los eventos de pago e inventario pueden procesarse de uno en uno o por
+ * lotes (onPaymentResults / onInventoryResults). Ambos caminos aplican las
+ * mismas transiciones; el modo por lotes carga y persiste todas las órdenes
+ * del lote con una sola consulta y un solo saveAll.
+ *
+ * Cada paso se mide con SagaMetrics (saga.step.duration) y, al llegar a un
+ * estado terminal, se registra la latencia extremo a extremo de la saga.
+ *
+ * Concurrencia: las órdenes llevan versión (bloqueo optimista). Si dos pasos
+ * de la misma orden se solapan, el segundo en guardar falla con
+ * ConcurrentOrderModificationException antes de enviar ningún comando, y
+ * retryOnConflict lo repite entero en una transacción nueva.
  */
 @Service
 @Slf4j
@@ -41,33 +91,126 @@ public class OrderSagaOrchestrator {
     private final PaymentCommandSender paymentCommandSender;
     private final InventoryCommandSender inventoryCommandSender;
     private final DomainEventPublisher eventPublisher;
+    private final SagaDeadlineRepository deadlineRepository;
+    private final SagaMetrics sagaMetrics;
+    private final SagaJournal journal;
+
+    @Value("${saga.timeout.payment:PT1M}")
+    private Duration paymentTimeout;
+
+    @Value("${saga.timeout.inventory:PT1M}")
+    private Duration inventoryTimeout;
+
+    @Value("${saga.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${saga.retry.initial-backoff-ms:10}")
+    private long initialBackoffMillis;
+
+    @Value("${saga.retry.max-backoff-ms:200}")
+    private long maxBackoffMillis;
+
+    @Value("${saga.mode:sequential}")
+    private String mode;
+
+    /**
+     * Ejecuta un paso de la saga reintentándolo si otro proceso modificó la
+     * misma orden a la vez.
+     *
+     * El paso debe abrir su propia transacción (p. ej. una llamada a este
+     * bean desde fuera): cada intento se repite completo, releyendo la orden.
+     * Entre intentos espera un backoff exponencial con jitter completo,
+     * acotado por saga.retry.max-backoff-ms. Si se llama con una transacción
+     * ya abierta no se reintenta, porque esa transacción queda marcada para
+     * rollback: el conflicto se propaga a quien la abrió.
+     */
+    public void retryOnConflict(Runnable step) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            step.run();
+            return;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                step.run();
+                return;
+            } catch (ConcurrentOrderModificationException e) {
+                boolean retry = attempt < maxAttempts;
+                sagaMetrics.recordConflict(retry);
+                if (!retry) {
+                    log.warn("Saga: Giving up on order {} after {} conflicting attempts", e.getOrderId(), attempt);
+                    throw e;
+                }
+                log.info("Saga: Order {} modified concurrently, retrying (attempt {}/{})",
+                        e.getOrderId(), attempt + 1, maxAttempts);
+                backOff(attempt, e);
+            }
+        }
+    }
 
     /**
      * Inicia la saga cuando se crea una orden.
-     * Primer paso: solicitar el pago.
+     * Primer paso: solicitar el pago (y, en modo paralelo, también la reserva).
      */
     @Transactional
     public void onOrderCreated(OrderId orderId) {
+        if ("parallel".equals(mode)) {
+            startInParallel(orderId);
+            return;
+        }
         log.info("Saga: Order {} created, initiating payment", orderId);
 
-        Order order = findOrder(orderId);
+        sagaMetrics.timeStep("order_created", () -> {
+            Order order = findOrder(orderId);
 
-        // Marcar pago como pendiente
-        order.markPaymentPending();
-        order = orderRepository.save(order);
-        publishEvents(order);
+            // Marcar pago como pendiente
+            order.markPaymentPending();
+            orderRepository.save(order);
+            trackDeadline(order);
+            publishEvents(order);
 
-        // Enviar comando de pago
-        ProcessPaymentCommand paymentCommand = new ProcessPaymentCommand(
-                order.getId(),
-                order.getUserId(),
-                order.getProductId(),
-                order.getPrice());
-        paymentCommandSender.sendProcessPaymentCommand(paymentCommand);
+            // Enviar comando de pago
+            ProcessPaymentCommand paymentCommand = new ProcessPaymentCommand(
+                    order.getId(),
+                    order.getUserId(),
+                    order.getProductId(),
+                    order.getPrice());
+            dispatch(SagaJournal.Type.PAYMENT_REQUESTED, orderId,
+                    () -> paymentCommandSender.sendProcessPaymentCommand(paymentCommand)).run();
+        });
 
         log.info("Saga: Payment command sent for order {}", orderId);
     }
 
+    private void startInParallel(OrderId orderId) {
+        log.info("Saga: Order {} created, initiating payment and inventory reservation", orderId);
+
+        sagaMetrics.timeStep("order_created", () -> {
+            Order order = findOrder(orderId);
+
+            order.markPaymentAndInventoryPending();
+            orderRepository.save(order);
+            trackDeadline(order);
+            publishEvents(order);
+
+            ProcessPaymentCommand paymentCommand = new ProcessPaymentCommand(
+                    order.getId(),
+                    order.getUserId(),
+                    order.getProductId(),
+                    order.getPrice());
+            ReserveInventoryCommand inventoryCommand = new ReserveInventoryCommand(
+                    order.getId(),
+                    order.getUserId(),
+                    order.getProductId());
+            dispatch(SagaJournal.Type.PAYMENT_AND_INVENTORY_REQUESTED, orderId, () -> {
+                paymentCommandSender.sendProcessPaymentCommand(paymentCommand);
+                inventoryCommandSender.sendReserveInventoryCommand(inventoryCommand);
+            }).run();
+        });
+
+        log.info("Saga: Payment and inventory commands sent for order {}", orderId);
+    }
+
     /**
      * Maneja el evento de pago completado.
      * Siguiente paso: reservar inventario.
@@ -75,21 +218,9 @@ public class OrderSagaOrchestrator {
     @Transactional
     public void onPaymentCompleted(OrderId orderId) {
         log.info("Saga: Payment completed for order {}", orderId);
+        journal.append(Entry.now(SagaJournal.Type.PAYMENT_COMPLETED, orderId));
 
-        Order order = findOrder(orderId);
-
-        // Confirmar pago y marcar inventario como pendiente
-        order.confirmPayment();
-        order.markInventoryPending();
-        order = orderRepository.save(order);
-        publishEvents(order);
-
-        // Enviar comando de reserva de inventario
-        ReserveInventoryCommand inventoryCommand = new ReserveInventoryCommand(
-                order.getId(),
-                order.getUserId(),
-                order.getProductId());
-        inventoryCommandSender.sendReserveInventoryCommand(inventoryCommand);
+        executeStep("payment_completed", orderId, this::applyPaymentCompleted);
 
         log.info("Saga: Inventory reservation command sent for order {}", orderId);
     }
@@ -101,13 +232,9 @@ public class OrderSagaOrchestrator {
     @Transactional
     public void onPaymentFailed(OrderId orderId) {
         log.warn("Saga: Payment failed for order {}", orderId);
+        journal.append(Entry.now(SagaJournal.Type.PAYMENT_FAILED, orderId));
 
-        Order order = findOrder(orderId);
-
-        // El dominio maneja la transición: failPayment() auto-cancela
-        order.failPayment();
-        order = orderRepository.save(order);
-        publishEvents(order);
+        executeStep("payment_failed", orderId, this::applyPaymentFailed);
 
         log.info("Saga: Order {} cancelled due to payment failure", orderId);
     }
@@ -119,14 +246,9 @@ public class OrderSagaOrchestrator {
     @Transactional
     public void onInventoryReserved(OrderId orderId) {
         log.info("Saga: Inventory reserved for order {}", orderId);
+        journal.append(Entry.now(SagaJournal.Type.INVENTORY_RESERVED, orderId));
 
-        Order order = findOrder(orderId);
-
-        // Confirmar inventario y completar orden
-        order.confirmInventory();
-        order.complete();
-        order = orderRepository.save(order);
-        publishEvents(order);
+        executeStep("inventory_reserved", orderId, this::applyInventoryReserved);
 
         log.info("Saga: Order {} completed successfully!", orderId);
     }
@@ -138,35 +260,321 @@ public class OrderSagaOrchestrator {
     @Transactional
     public void onInventoryRejected(OrderId orderId) {
         log.warn("Saga: Inventory rejected for order {}", orderId);
+        journal.append(Entry.now(SagaJournal.Type.INVENTORY_REJECTED, orderId));
+
+        executeStep("inventory_rejected", orderId, this::applyInventoryRejected);
+
+        log.info("Saga: Refund requested and order {} cancelled due to inventory failure", orderId);
+    }
+
+    /**
+     * Maneja el vencimiento del plazo de un paso.
+     * Compensa como si el servicio hubiese respondido con un fallo.
+     */
+    @Transactional
+    public void onStepTimedOut(SagaDeadline deadline) {
+        OrderId orderId = deadline.orderId();
+
+        // Solo una instancia reclama el plazo; si ya no existe la saga avanzó o otro lo atendió
+        if (!deadlineRepository.claim(orderId, deadline.step(), Instant.now())) {
+            log.debug("Saga: {} deadline for order {} already handled", deadline.step(), orderId);
+            return;
+        }
 
         Order order = findOrder(orderId);
+        if (order.getStatus() != deadline.step()) {
+            log.info("Saga: Order {} is {} but deadline was for {}, ignoring",
+                    orderId, order.getStatus(), deadline.step());
+            return;
+        }
+
+        log.warn("Saga: Order {} timed out in {}, compensating", orderId, deadline.step());
+        if (deadline.step() == OrderStatus.INVENTORY_PENDING) {
+            sagaMetrics.timeStep("inventory_timed_out", () -> applyStep(order, this::applyInventoryRejected));
+        } else {
+            // PAYMENT_PENDING y los dos estados del modo paralelo: falta al menos el pago
+            sagaMetrics.timeStep("payment_timed_out", () -> applyStep(order, this::applyPaymentTimedOut));
+        }
+    }
+
+    // ==================== BATCH MODE ====================
+
+    /**
+     * Procesa un lote de resultados de pago en una sola transacción.
+     */
+    @Transactional
+    public void onPaymentResults(List<SagaStepOutcome> outcomes) {
+        journalOutcomes(outcomes, SagaJournal.Type.PAYMENT_COMPLETED, SagaJournal.Type.PAYMENT_FAILED);
+        sagaMetrics.timeStep("payment_batch", () ->
+                executeBatch("Payment", outcomes, this::applyPaymentCompleted, this::applyPaymentFailed));
+    }
+
+    /**
+     * Procesa un lote de resultados de inventario en una sola transacción.
+     */
+    @Transactional
+    public void onInventoryResults(List<SagaStepOutcome> outcomes) {
+        journalOutcomes(outcomes, SagaJournal.Type.INVENTORY_RESERVED, SagaJournal.Type.INVENTORY_REJECTED);
+        sagaMetrics.timeStep("inventory_batch", () ->
+                executeBatch("Inventory", outcomes, this::applyInventoryReserved, this::applyInventoryRejected));
+    }
+
+    // ==================== SAGA STEPS ====================
+
+    private void applyPaymentCompleted(Order order, List<Runnable> commands) {
+        switch (order.getStatus()) {
+            case CANCELLED -> {
+                // Respuesta tardía de una orden ya compensada (inventario rechazado o
+                // plazo vencido): el reembolso ya va detrás del cobro
+                log.info("Saga: Payment completed for cancelled order {}, refund already requested", order.getId());
+                return;
+            }
+            case PAYMENT_AND_INVENTORY_PENDING -> {
+                // Modo paralelo: la reserva ya está en curso, queda esperarla
+                order.confirmPayment();
+                return;
+            }
+            case INVENTORY_RESERVED_PAYMENT_PENDING -> {
+                // Modo paralelo: el inventario ya estaba reservado, se unen las dos patas
+                order.confirmPayment();
+                order.complete();
+                return;
+            }
+            default -> {
+            }
+        }
+
+        // Confirmar pago y marcar inventario como pendiente
+        order.confirmPayment();
+        order.markInventoryPending();
 
+        // Reservar inventario
+        ReserveInventoryCommand inventoryCommand = new ReserveInventoryCommand(
+                order.getId(),
+                order.getUserId(),
+                order.getProductId());
+        commands.add(dispatch(SagaJournal.Type.INVENTORY_REQUESTED, order.getId(),
+                () -> inventoryCommandSender.sendReserveInventoryCommand(inventoryCommand)));
+    }
+
+    private void applyPaymentFailed(Order order, List<Runnable> commands) {
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            // Respuesta tardía de una orden ya compensada: no hay nada que deshacer
+            log.info("Saga: Payment failed for already cancelled order {}, ignoring", order.getId());
+            return;
+        }
+        boolean inventoryReserved = order.getStatus() == OrderStatus.INVENTORY_RESERVED_PAYMENT_PENDING;
+
+        // El dominio maneja la transición: failPayment() auto-cancela
+        order.failPayment();
+
+        if (inventoryReserved) {
+            commands.add(releaseInventory(order));
+        }
+    }
+
+    private void applyPaymentTimedOut(Order order, List<Runnable> commands) {
+        boolean inventoryReserved = order.getStatus() == OrderStatus.INVENTORY_RESERVED_PAYMENT_PENDING;
+        order.failPayment();
+        if (inventoryReserved) {
+            commands.add(releaseInventory(order));
+        }
+
+        // El pago pudo procesarse y perderse la respuesta: el reembolso viaja por
+        // la misma partición que el cobro, así que llega después, y no hace nada
+        // si no hubo cobro
+        RefundPaymentCommand refundCommand = new RefundPaymentCommand(
+                order.getId(),
+                order.getUserId());
+        commands.add(dispatch(SagaJournal.Type.REFUND_REQUESTED, order.getId(),
+                () -> paymentCommandSender.sendRefundPaymentCommand(refundCommand)));
+    }
+
+    private void applyInventoryReserved(Order order, List<Runnable> commands) {
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            // Reserva tardía de una orden ya compensada (pago fallido o plazo
+            // vencido): el stock quedó apartado y hay que devolverlo
+            log.warn("Saga: Inventory reserved for cancelled order {}, releasing it", order.getId());
+            commands.add(releaseInventory(order));
+            return;
+        }
+
+        // Confirmar inventario y completar orden; en modo paralelo puede faltar aún el pago
+        order.confirmInventory();
+        if (order.getStatus().canComplete()) {
+            order.complete();
+        }
+    }
+
+    private void applyInventoryRejected(Order order, List<Runnable> commands) {
         // Marcar fallo de inventario
         order.failInventory();
 
-        // Solicitar reembolso
+        // Solicitar reembolso (en modo paralelo el pago puede seguir en curso:
+        // el reembolso llega después del cobro y no hace nada si no lo hubo)
         RefundPaymentCommand refundCommand = new RefundPaymentCommand(
                 order.getId(),
                 order.getUserId());
-        paymentCommandSender.sendRefundPaymentCommand(refundCommand);
+        commands.add(dispatch(SagaJournal.Type.REFUND_REQUESTED, order.getId(),
+                () -> paymentCommandSender.sendRefundPaymentCommand(refundCommand)));
 
         // Cancelar orden
         order.cancel();
-        order = orderRepository.save(order);
-        publishEvents(order);
-
-        log.info("Saga: Refund requested and order {} cancelled due to inventory failure", orderId);
     }
 
     // ==================== PRIVATE HELPERS ====================
 
+    private void executeStep(String stepName, OrderId orderId, SagaStep step) {
+        sagaMetrics.timeStep(stepName, () -> applyStep(findOrder(orderId), step));
+    }
+
+    private void applyStep(Order order, SagaStep step) {
+        List<Runnable> commands = new ArrayList<>();
+        step.apply(order, commands);
+
+        // Un paso puede solo enviar comandos (liberar una reserva tardía) sin cambiar la orden
+        if (!order.getDomainEvents().isEmpty()) {
+            orderRepository.save(order);
+            trackDeadline(order);
+            publishEvents(order);
+        }
+        commands.forEach(Runnable::run);
+        sagaMetrics.recordIfTerminal(order);
+    }
+
+    private void executeBatch(String stepName, List<SagaStepOutcome> outcomes,
+            SagaStep onSuccess, SagaStep onFailure) {
+        log.info("Saga: Processing batch of {} {} outcomes", outcomes.size(), stepName);
+
+        // 1. Cargar todas las órdenes afectadas con una sola consulta
+        Set<OrderId> orderIds = outcomes.stream()
+                .map(SagaStepOutcome::orderId)
+                .collect(Collectors.toSet());
+        Map<OrderId, Order> orders = new LinkedHashMap<>();
+        orderRepository.findAllById(orderIds).forEach(order -> orders.put(order.getId(), order));
+
+        // 2. Aplicar las transiciones en memoria
+        Set<Order> changed = new LinkedHashSet<>();
+        List<Runnable> commands = new ArrayList<>();
+        for (SagaStepOutcome outcome : outcomes) {
+            Order order = orders.get(outcome.orderId());
+            if (order == null) {
+                log.warn("Saga: {} outcome for unknown order {}, ignoring", stepName, outcome.orderId());
+                continue;
+            }
+
+            List<Runnable> orderCommands = new ArrayList<>();
+            try {
+                (outcome.succeeded() ? onSuccess : onFailure).apply(order, orderCommands);
+            } catch (DomainException e) {
+                // Un evento inválido no debe bloquear el resto del lote
+                log.warn("Saga: {} outcome for order {} skipped: {}", stepName, outcome.orderId(), e.getMessage());
+                continue;
+            }
+            if (!order.getDomainEvents().isEmpty()) {
+                changed.add(order);
+            }
+            commands.addAll(orderCommands);
+        }
+
+        if (changed.isEmpty()) {
+            commands.forEach(Runnable::run);
+            return;
+        }
+
+        // 3. Persistir todo con un único saveAll, publicar eventos y enviar comandos juntos
+        List<Order> changedOrders = new ArrayList<>(changed);
+        orderRepository.saveAll(changedOrders);
+        changedOrders.forEach(this::trackDeadline);
+
+        List<DomainEvent> events = changedOrders.stream()
+                .flatMap(order -> order.getDomainEvents().stream())
+                .toList();
+        eventPublisher.publishAll(events);
+        changedOrders.forEach(Order::clearDomainEvents);
+
+        commands.forEach(Runnable::run);
+        changedOrders.forEach(sagaMetrics::recordIfTerminal);
+
+        log.info("Saga: {} batch applied to {} orders, {} commands sent",
+                stepName, changedOrders.size(), commands.size());
+    }
+
+    private void backOff(int attempt, ConcurrentOrderModificationException conflict) {
+        // Jitter completo: espera aleatoria en [0, min(máximo, inicial * 2^(intento-1))]
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    /**
+     * Envuelve el envío de un comando para anotarlo en el diario una vez enviado.
+     */
+    private Runnable dispatch(SagaJournal.Type type, OrderId orderId, Runnable send) {
+        return () -> {
+            send.run();
+            journal.append(Entry.now(type, orderId));
+        };
+    }
+
+    /**
+     * Compensa una reserva de inventario confirmada. Solo se usa cuando consta
+     * la reserva: inventory-service devuelve el stock sin comprobar que exista.
+     */
+    private Runnable releaseInventory(Order order) {
+        ReleaseInventoryCommand releaseCommand = new ReleaseInventoryCommand(
+                order.getId(),
+                order.getProductId());
+        return dispatch(SagaJournal.Type.RELEASE_REQUESTED, order.getId(),
+                () -> inventoryCommandSender.sendReleaseInventoryCommand(releaseCommand));
+    }
+
+    private void journalOutcomes(List<SagaStepOutcome> outcomes, SagaJournal.Type succeeded, SagaJournal.Type failed) {
+        outcomes.forEach(outcome ->
+                journal.append(Entry.now(outcome.succeeded() ? succeeded : failed, outcome.orderId())));
+    }
+
     private Order findOrder(OrderId orderId) {
         return orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
+    /**
+     * Registra el plazo del paso en curso o lo elimina si la orden ya no espera respuesta.
+     */
+    private void trackDeadline(Order order) {
+        Duration timeout = switch (order.getStatus()) {
+            case PAYMENT_PENDING, INVENTORY_RESERVED_PAYMENT_PENDING -> paymentTimeout;
+            case INVENTORY_PENDING -> inventoryTimeout;
+            case PAYMENT_AND_INVENTORY_PENDING -> max(paymentTimeout, inventoryTimeout);
+            default -> null;
+        };
+        if (timeout == null) {
+            deadlineRepository.cancel(order.getId());
+        } else {
+            deadlineRepository.schedule(new SagaDeadline(order.getId(), order.getStatus(), Instant.now().plus(timeout)));
+        }
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
     private void publishEvents(Order order) {
         eventPublisher.publishAll(order.getDomainEvents());
         order.clearDomainEvents();
     }
+
+    /**
+     * Transición de la saga para una orden: muta el agregado y acumula los
+     * comandos a enviar una vez persistido.
+     */
+    @FunctionalInterface
+    private interface SagaStep {
+        void apply(Order order, List<Runnable> commands);
+    }
 }
@@ -0,0 +1,232 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.port.output.ProcessedMessageRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Consumidor idempotente: descarta los mensajes de la saga ya procesados.
+ *
+ * Cada mensaje se identifica por una clave (paso + orderId). La comprobación
+ * va de más barata a más cara:
+ * 1. LRU en memoria con las claves que esta instancia procesó recientemente.
+ *    Un acierto es un duplicado seguro y no toca la base de datos.
+ * 2. Tabla processed_message, la referencia compartida por todas las
+ *    instancias: la clave se reclama con un INSERT condicional al inicio de la
+ *    transacción del paso. Si ya estaba, el paso no se ejecuta.
+ *
+ * Un fallo en el LRU no prueba que el mensaje sea nuevo: tras un rebalanceo
+ * la reentrega llega a otra instancia, que nunca lo vio. Por eso no hay atajo
+ * para los negativos. Como la clave se inserta en la misma transacción que
+ * los efectos del paso, un paso que falla no queda marcado.
+ */
+@Component
+@Slf4j
+public class ProcessedMessages {
+
+    /**
+     * Paso de inicio de la saga; lo comparten el consumidor de order-events y
+     * el inicio en proceso para que solo uno de los dos lo aplique.
+     */
+    public static final String ORDER_CREATED_STEP = "order-created";
+
+    private final ProcessedMessageRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int cacheSize;
+    private final Map<String, Boolean> recent;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong storeLookups = new AtomicLong();
+    private final AtomicLong storeHits = new AtomicLong();
+
+    public ProcessedMessages(
+            ProcessedMessageRepository repository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${saga.dedup.retention:P7D}") Duration retention,
+            @Value("${saga.dedup.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.cacheSize = cacheSize;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > ProcessedMessages.this.cacheSize;
+            }
+        };
+
+        FunctionCounter.builder("saga.dedup.duplicates", cacheHits, AtomicLong::get)
+                .description("Duplicate saga messages dropped")
+                .tag("source", "cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("saga.dedup.duplicates", storeHits, AtomicLong::get)
+                .description("Duplicate saga messages dropped")
+                .tag("source", "store")
+                .register(meterRegistry);
+        FunctionCounter.builder("saga.dedup.store.lookups", storeLookups, AtomicLong::get)
+                .description("Saga messages claimed against processed_message")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta el paso si el mensaje no se ha procesado antes.
+     *
+     * @return false si era un duplicado y se ha descartado
+     */
+    public boolean runOnce(String messageKey, Runnable step) {
+        if (isRecent(messageKey)) {
+            log.info("Saga: Duplicate message {} dropped", messageKey);
+            return false;
+        }
+
+        Boolean applied = transactionTemplate.execute(status -> {
+            storeLookups.incrementAndGet();
+            if (!repository.claim(messageKey, Instant.now())) {
+                storeHits.incrementAndGet();
+                remember(List.of(messageKey));
+                return false;
+            }
+            step.run();
+            rememberAfterCommit(List.of(messageKey));
+            return true;
+        });
+
+        if (!Boolean.TRUE.equals(applied)) {
+            log.info("Saga: Duplicate message {} dropped", messageKey);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Aplica un lote una sola vez por mensaje: descarta las repeticiones
+     * dentro del propio lote (se queda con la primera) y los mensajes ya
+     * procesados, y ejecuta el paso con el resto en la transacción en la que
+     * se reclaman sus claves.
+     */
+    public <T> void runOnce(List<T> messages, Function<T, String> keyOf, Consumer<List<T>> step) {
+        List<T> candidates = dropDuplicates(messages, keyOf);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> keys = candidates.stream().map(keyOf).toList();
+            storeLookups.addAndGet(keys.size());
+            Set<String> claimed = repository.claimAll(keys, Instant.now());
+
+            List<T> fresh = new ArrayList<>(claimed.size());
+            List<String> seenBefore = new ArrayList<>();
+            for (T message : candidates) {
+                String key = keyOf.apply(message);
+                if (claimed.contains(key)) {
+                    fresh.add(message);
+                } else {
+                    log.info("Saga: Duplicate message {} dropped", key);
+                    seenBefore.add(key);
+                }
+            }
+            storeHits.addAndGet(seenBefore.size());
+            remember(seenBefore);
+
+            if (!fresh.isEmpty()) {
+                step.accept(fresh);
+                rememberAfterCommit(claimed);
+            }
+        });
+    }
+
+    /**
+     * Quita de un lote las repeticiones y los mensajes que esta instancia
+     * procesó recientemente. Los que quedan pueden seguir siendo duplicados
+     * procesados por otra instancia.
+     */
+    public <T> List<T> dropDuplicates(List<T> messages, Function<T, String> keyOf) {
+        Set<String> seen = new HashSet<>();
+        List<T> fresh = new ArrayList<>(messages.size());
+        for (T message : messages) {
+            String key = keyOf.apply(message);
+            if (!seen.add(key) || isRecent(key)) {
+                log.info("Saga: Duplicate message {} dropped", key);
+                continue;
+            }
+            fresh.add(message);
+        }
+        return fresh;
+    }
+
+    /**
+     * Purga los registros caducados.
+     */
+    @Scheduled(fixedDelayString = "${saga.dedup.purge-interval-ms:3600000}")
+    public void purge() {
+        int purged = repository.deleteProcessedBefore(Instant.now().minus(retention));
+        log.debug("Dedup: {} processed messages purged", purged);
+    }
+
+    /**
+     * Clave de un mensaje: paso + orderId (una orden recibe un único mensaje por paso).
+     */
+    public static String messageKey(String step, OrderId orderId) {
+        return step + ":" + orderId.value();
+    }
+
+    private boolean isRecent(String messageKey) {
+        lock.lock();
+        try {
+            if (recent.get(messageKey) != null) {
+                cacheHits.incrementAndGet();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rememberAfterCommit(Collection<String> messageKeys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(messageKeys);
+                }
+            });
+        } else {
+            remember(messageKeys);
+        }
+    }
+
+    private void remember(Collection<String> messageKeys) {
+        lock.lock();
+        try {
+            messageKeys.forEach(key -> recent.put(key, Boolean.TRUE));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
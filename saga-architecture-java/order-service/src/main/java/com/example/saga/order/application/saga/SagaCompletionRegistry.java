@@ -0,0 +1,82 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.application.query.OrderStatusWatcher;
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.port.input.AwaitOrderOutcomeUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro en memoria de peticiones que esperan el final de una saga.
+ *
+ * Cada espera es un CompletableFuture asociado al OrderId. Se completa cuando
+ * la orden llega a un estado terminal, o expira con TimeoutException. No
+ * ocupa hilos mientras espera. Dos fuentes la liberan:
+ * - La transición confirmada por esta instancia (al momento, tras el commit).
+ * - OrderStatusWatcher, que lee el almacén y ve las sagas que termina otra
+ *   instancia del grupo de consumidores.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SagaCompletionRegistry implements AwaitOrderOutcomeUseCase {
+
+    private final OrderStatusWatcher watcher;
+    private final Map<OrderId, Set<CompletableFuture<SagaOutcome>>> waiters = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<SagaOutcome> execute(OrderId orderId, Duration timeout) {
+        CompletableFuture<SagaOutcome> waiter = new CompletableFuture<>();
+        waiters.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(waiter);
+        Runnable unwatch = watcher.watch(orderId, order -> completeIfTerminal(order, waiter));
+        waiter.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((outcome, error) -> {
+                    unwatch.run();
+                    remove(orderId, waiter);
+                });
+
+        // La saga pudo terminar antes de registrar la espera, aquí o en otra instancia
+        watcher.current(orderId).ifPresent(order -> completeIfTerminal(order, waiter));
+        return waiter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChanged(OrderStatusChangedDomainEvent event) {
+        if (!event.newStatus().isTerminal()) {
+            return;
+        }
+        Set<CompletableFuture<SagaOutcome>> pending = waiters.remove(event.orderId());
+        if (pending == null) {
+            return;
+        }
+        log.debug("Saga: order {} finished as {}, releasing {} waiters",
+                event.orderId(), event.newStatus(), pending.size());
+        SagaOutcome outcome = new SagaOutcome(event.orderId(), event.newStatus(), event.occurredOn());
+        pending.forEach(waiter -> waiter.complete(outcome));
+    }
+
+    private static void completeIfTerminal(Order order, CompletableFuture<SagaOutcome> waiter) {
+        if (order.getStatus().isTerminal()) {
+            waiter.complete(new SagaOutcome(order.getId(), order.getStatus(), order.getUpdatedAt()));
+        }
+    }
+
+    private void remove(OrderId orderId, CompletableFuture<SagaOutcome> waiter) {
+        waiters.computeIfPresent(orderId, (id, pending) -> {
+            pending.remove(waiter);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository.SagaDeadline;
+import com.example.saga.order.domain.port.output.SagaJournal;
+import com.example.saga.order.domain.port.output.SagaJournal.Entry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recupera las sagas en curso al arrancar a partir del diario local.
+ *
+ * Reproduce el diario y se queda con la última entrada de cada orden: si es
+ * un comando de pago o de inventario, la saga esperaba respuesta cuando el
+ * proceso cayó. Su plazo (envío + timeout del paso) se programa directamente
+ * en SagaTimeoutScheduler, sin esperar a leer saga_deadline. Si la respuesta
+ * llega, la saga sigue con normalidad y el plazo ya no se puede reclamar.
+ *
+ * Después compacta el diario: solo esas entradas pasan al segmento nuevo.
+ *
+ * No reanuda ni compensa sagas: solo adelanta la carga de plazos que
+ * SagaTimeoutScheduler haría igualmente desde saga_deadline en su primer
+ * ciclo. Por eso el diario va desactivado por defecto.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "saga.journal.enabled", havingValue = "true")
+public class SagaJournalRecovery {
+
+    private final SagaJournal journal;
+    private final ObjectProvider<SagaTimeoutScheduler> timeoutScheduler;
+    private final Duration paymentTimeout;
+    private final Duration inventoryTimeout;
+
+    public SagaJournalRecovery(
+            SagaJournal journal,
+            ObjectProvider<SagaTimeoutScheduler> timeoutScheduler,
+            @Value("${saga.timeout.payment:PT1M}") Duration paymentTimeout,
+            @Value("${saga.timeout.inventory:PT1M}") Duration inventoryTimeout) {
+        this.journal = journal;
+        this.timeoutScheduler = timeoutScheduler;
+        this.paymentTimeout = paymentTimeout;
+        this.inventoryTimeout = inventoryTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        long start = System.nanoTime();
+
+        // Última entrada de cada orden; la compactación reescribe entradas
+        // antiguas, así que se compara por instante y no por posición
+        Map<OrderId, Entry> latest = new HashMap<>();
+        AtomicLong replayed = new AtomicLong();
+        journal.replay(entry -> {
+            replayed.incrementAndGet();
+            latest.merge(entry.orderId(), entry, (previous, next) -> next.at().isBefore(previous.at()) ? previous : next);
+        });
+
+        List<SagaDeadline> inFlight = latest.values().stream()
+                .map(this::deadlineOf)
+                .filter(Objects::nonNull)
+                .toList();
+        journal.compact(inFlight.stream()
+                .map(deadline -> latest.get(deadline.orderId()))
+                .toList());
+
+        SagaTimeoutScheduler scheduler = timeoutScheduler.getIfAvailable();
+        if (scheduler != null) {
+            inFlight.forEach(scheduler::schedule);
+        }
+
+        log.info("Saga journal: {} entries replayed, {} in-flight sagas recovered in {} ms",
+                replayed.get(), inFlight.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Plazo del paso que esperaba respuesta, o null si la última entrada no es un comando pendiente.
+     */
+    private SagaDeadline deadlineOf(Entry entry) {
+        return switch (entry.type()) {
+            case PAYMENT_REQUESTED ->
+                    new SagaDeadline(entry.orderId(), OrderStatus.PAYMENT_PENDING, entry.at().plus(paymentTimeout));
+            case INVENTORY_REQUESTED ->
+                    new SagaDeadline(entry.orderId(), OrderStatus.INVENTORY_PENDING, entry.at().plus(inventoryTimeout));
+            case PAYMENT_AND_INVENTORY_REQUESTED -> new SagaDeadline(entry.orderId(),
+                    OrderStatus.PAYMENT_AND_INVENTORY_PENDING, entry.at().plus(
+                            paymentTimeout.compareTo(inventoryTimeout) >= 0 ? paymentTimeout : inventoryTimeout));
+            default -> null;
+        };
+    }
+}
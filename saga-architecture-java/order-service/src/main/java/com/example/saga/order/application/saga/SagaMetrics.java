@@ -0,0 +1,176 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import com.example.saga.order.domain.port.output.ScheduledTaskLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de la saga expuestas vía Micrometer (actuator/prometheus).
+ *
+ * - saga.step.duration{step,outcome}: duración de cada paso del orquestador,
+ *   con histograma de percentiles para poder fijar SLOs por tramo.
+ * - saga.end_to_end.duration{outcome}: tiempo desde Order.createdAt hasta que
+ *   la orden alcanza un estado terminal (COMPLETED / CANCELLED).
+ * - saga.in_flight{status}: órdenes en cada estado no terminal. Se calcula
+ *   con una consulta agrupada sobre la base de datos que en cada intervalo
+ *   ejecuta una sola instancia (ScheduledTaskLock); las demás reportan NaN
+ *   (agregar con max(), que ignora NaN, no con sum()).
+ * - saga.step.conflicts{outcome}: conflictos de versión en un paso, según se
+ *   reintentaran (retried) o agotaran los intentos (exhausted).
+ */
+@Component
+@Slf4j
+public class SagaMetrics {
+
+    static final String STEP_TIMER = "saga.step.duration";
+    static final String END_TO_END_TIMER = "saga.end_to_end.duration";
+    static final String IN_FLIGHT_GAUGE = "saga.in_flight";
+    static final String CONFLICT_COUNTER = "saga.step.conflicts";
+    static final String IN_FLIGHT_TASK = "saga-in-flight-metrics";
+
+    private final MeterRegistry meterRegistry;
+    private final OrderRepository orderRepository;
+    private final ScheduledTaskLock taskLock;
+    private final Duration refreshInterval;
+    private volatile Map<OrderStatus, Long> inFlight = Map.of();
+    private volatile long refreshedAtNanos;
+
+    public SagaMetrics(MeterRegistry meterRegistry, OrderRepository orderRepository, ScheduledTaskLock taskLock,
+            @Value("${saga.metrics.in-flight-refresh-ms:60000}") long refreshIntervalMs) {
+        this.meterRegistry = meterRegistry;
+        this.orderRepository = orderRepository;
+        this.taskLock = taskLock;
+        this.refreshInterval = Duration.ofMillis(refreshIntervalMs);
+
+        for (OrderStatus status : OrderStatus.values()) {
+            if (!status.isTerminal()) {
+                Gauge.builder(IN_FLIGHT_GAUGE, this, metrics -> metrics.inFlightCount(status))
+                        .description("Orders currently in a non-terminal saga state")
+                        .tag("status", status.name())
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un paso de la saga midiendo su duración. El resultado se etiqueta
+     * como success o error según termine o lance excepción.
+     */
+    public void timeStep(String step, Runnable body) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            body.run();
+            outcome = "success";
+        } finally {
+            stepTimer(step, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Registra la latencia extremo a extremo si la orden ha terminado.
+     * Dentro de una transacción se difiere al commit para no contar sagas
+     * cuyo último paso se deshace y se reintenta.
+     */
+    public void recordIfTerminal(Order order) {
+        if (!order.getStatus().isTerminal()) {
+            return;
+        }
+        OrderStatus status = order.getStatus();
+        Instant createdAt = order.getCreatedAt();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordEndToEnd(status, createdAt);
+                }
+            });
+        } else {
+            recordEndToEnd(status, createdAt);
+        }
+    }
+
+    /**
+     * Cuenta un conflicto de bloqueo optimista en un paso de la saga.
+     */
+    public void recordConflict(boolean retried) {
+        Counter.builder(CONFLICT_COUNTER)
+                .description("Saga steps that hit a concurrent order modification")
+                .tag("outcome", retried ? "retried" : "exhausted")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Refresca el recuento de órdenes en curso que leen los gauges, si esta
+     * instancia reclama la ejecución de este intervalo.
+     *
+     * Todas las instancias lo programan, pero se reclama con la mitad del
+     * intervalo como margen: la primera que llega lo ejecuta y las demás lo
+     * saltan hasta el siguiente.
+     */
+    @Scheduled(fixedDelayString = "${saga.metrics.in-flight-refresh-ms:60000}")
+    public void refreshInFlight() {
+        try {
+            if (!taskLock.tryClaim(IN_FLIGHT_TASK, Instant.now(), refreshInterval.dividedBy(2))) {
+                return;
+            }
+            Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+            counts.putAll(orderRepository.countByStatus());
+            inFlight = counts;
+            refreshedAtNanos = System.nanoTime();
+        } catch (RuntimeException e) {
+            // Mantener el último valor conocido; no debe romper el scheduler
+            log.warn("Saga metrics: could not refresh in-flight counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recuento de un estado, o NaN si esta instancia no lo ha refrescado en
+     * los dos últimos intervalos (lo refresca otra).
+     */
+    private double inFlightCount(OrderStatus status) {
+        long refreshedAt = refreshedAtNanos;
+        if (refreshedAt == 0 || System.nanoTime() - refreshedAt > 2 * refreshInterval.toNanos()) {
+            return Double.NaN;
+        }
+        return inFlight.getOrDefault(status, 0L);
+    }
+
+    private void recordEndToEnd(OrderStatus status, Instant createdAt) {
+        Duration elapsed = Duration.between(createdAt, Instant.now());
+        Timer.builder(END_TO_END_TIMER)
+                .description("Time from order creation to a terminal saga state")
+                .tag("outcome", status.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed.isNegative() ? Duration.ZERO : elapsed);
+    }
+
+    private Timer stepTimer(String step, String outcome) {
+        return Timer.builder(STEP_TIMER)
+                .description("Duration of a single saga step in the orchestrator")
+                .tag("step", step)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.model.OrderId;
+
+/**
+ * Resultado de un paso remoto de la saga (pago o inventario) para una orden.
+ * Se usa para procesar los eventos de los participantes por lotes.
+ *
+ * @param orderId   ID de la orden afectada
+ * @param succeeded true si el participante completó el paso con éxito
+ */
+public record SagaStepOutcome(OrderId orderId, boolean succeeded) {
+}
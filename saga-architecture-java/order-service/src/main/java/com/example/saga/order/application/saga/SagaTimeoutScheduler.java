@@ -0,0 +1,141 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository.SagaDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dispara la compensación de los pasos de la saga cuyo plazo ha vencido.
+ *
+ * Los plazos viven en saga_deadline (indexada por due_at). Periódicamente se
+ * cargan solo los que vencen dentro del horizonte próximo en una
+ * {@link HashedTimingWheel}, que los dispara con precisión de un tick; así el
+ * coste no depende del número total de sagas pendientes.
+ *
+ * Todas las instancias cargan los mismos plazos: OrderSagaOrchestrator los
+ * reclama con un DELETE condicional y solo una compensa.
+ *
+ * Si la compensación falla, el plazo se aplaza en saga_deadline con un
+ * backoff exponencial (saga.timeout.retry-backoff-ms, duplicándose hasta
+ * saga.timeout.max-retry-backoff-ms). Sin eso la fila conservaría el due_at
+ * más antiguo y cada carga, que toma los más antiguos primero, la volvería a
+ * traer: con load-batch-size plazos fallando siempre, los más recientes no
+ * llegarían a cargarse nunca.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "saga.timeout.enabled", havingValue = "true", matchIfMissing = true)
+public class SagaTimeoutScheduler {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final SagaDeadlineRepository deadlineRepository;
+    private final OrderSagaOrchestrator sagaOrchestrator;
+    private final TaskExecutor taskExecutor;
+    private final Duration horizon;
+    private final int loadBatchSize;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final HashedTimingWheel<OrderId> wheel;
+    private final Map<OrderId, SagaDeadline> pending = new ConcurrentHashMap<>();
+    private final Set<OrderId> firing = ConcurrentHashMap.newKeySet();
+    private final Map<OrderId, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    public SagaTimeoutScheduler(
+            SagaDeadlineRepository deadlineRepository,
+            OrderSagaOrchestrator sagaOrchestrator,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            @Value("${saga.timeout.tick-ms:100}") long tickMillis,
+            @Value("${saga.timeout.horizon-ms:5000}") long horizonMillis,
+            @Value("${saga.timeout.load-batch-size:1000}") int loadBatchSize,
+            @Value("${saga.timeout.retry-backoff-ms:1000}") long retryBackoffMillis,
+            @Value("${saga.timeout.max-retry-backoff-ms:300000}") long maxRetryBackoffMillis) {
+        this.deadlineRepository = deadlineRepository;
+        this.sagaOrchestrator = sagaOrchestrator;
+        this.taskExecutor = taskExecutor;
+        this.horizon = Duration.ofMillis(horizonMillis);
+        this.loadBatchSize = loadBatchSize;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMillis);
+        this.maxRetryBackoff = Duration.ofMillis(maxRetryBackoffMillis);
+        this.wheel = new HashedTimingWheel<>(Duration.ofMillis(tickMillis), WHEEL_SIZE, Instant.now());
+    }
+
+    /**
+     * Carga en la rueda los plazos que vencen dentro del horizonte.
+     */
+    @Scheduled(fixedDelayString = "${saga.timeout.load-interval-ms:1000}")
+    public void loadUpcoming() {
+        List<SagaDeadline> upcoming = deadlineRepository.findDueBefore(Instant.now().plus(horizon), loadBatchSize);
+        upcoming.forEach(this::schedule);
+    }
+
+    /**
+     * Programa un plazo en la rueda (o lo sustituye), salvo que se esté
+     * compensando en este momento.
+     */
+    public void schedule(SagaDeadline deadline) {
+        if (firing.contains(deadline.orderId())) {
+            return;
+        }
+        pending.put(deadline.orderId(), deadline);
+        wheel.schedule(deadline.orderId(), deadline.dueAt());
+    }
+
+    /**
+     * Avanza la rueda y compensa los plazos vencidos fuera del hilo del scheduler.
+     */
+    @Scheduled(fixedRateString = "${saga.timeout.tick-ms:100}")
+    public void tick() {
+        List<SagaDeadline> expired = wheel.advance(Instant.now()).stream()
+                .map(pending::remove)
+                .filter(deadline -> deadline != null && firing.add(deadline.orderId()))
+                .toList();
+        if (!expired.isEmpty()) {
+            taskExecutor.execute(() -> expired.forEach(this::fire));
+        }
+    }
+
+    private void fire(SagaDeadline deadline) {
+        try {
+            sagaOrchestrator.retryOnConflict(() -> sagaOrchestrator.onStepTimedOut(deadline));
+            failedAttempts.remove(deadline.orderId());
+        } catch (RuntimeException e) {
+            log.error("Saga: Could not compensate timed out order {}: {}", deadline.orderId(), e.getMessage());
+            postpone(deadline);
+        } finally {
+            firing.remove(deadline.orderId());
+        }
+    }
+
+    private void postpone(SagaDeadline deadline) {
+        int attempt = failedAttempts.merge(deadline.orderId(), 1, Integer::sum);
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        try {
+            if (!deadlineRepository.postpone(deadline, Instant.now().plus(backoff))) {
+                // La saga avanzó u otra instancia atendió el plazo
+                failedAttempts.remove(deadline.orderId());
+            }
+        } catch (RuntimeException e) {
+            // La fila sigue con su vencimiento: se reintenta en la próxima carga
+            log.warn("Saga: Could not postpone deadline for order {}: {}", deadline.orderId(), e.getMessage());
+        }
+    }
+}
@@ -37,8 +37,9 @@ public class CancelOrderApplicationService implements CancelOrderUseCase {
         Order savedOrder = orderRepository.save(order);
 
         // Publicar eventos
-        eventPublisher.publishAll(savedOrder.getDomainEvents());
-        savedOrder.clearDomainEvents();
+        // (los eventos pendientes viven en el agregado original, no en la copia persistida)
+        eventPublisher.publishAll(order.getDomainEvents());
+        order.clearDomainEvents();
 
         log.info("Order {} cancelled", orderId);
         return savedOrder;
@@ -1,5 +1,6 @@
 package com.example.saga.order.application.service;
 
+import com.example.saga.order.domain.event.DomainEvent;
 import com.example.saga.order.domain.model.Order;
 import com.example.saga.order.domain.port.input.CreateOrderUseCase;
 import com.example.saga.order.domain.port.output.DomainEventPublisher;
@@ -9,6 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Servicio de aplicación para crear órdenes.
  * Implementa el caso de uso CreateOrderUseCase.
@@ -43,9 +47,34 @@ public class CreateOrderApplicationService implements CreateOrderUseCase {
         log.info("Order created with ID: {}", savedOrder.getId());
 
         // 3. Publicar los eventos de dominio generados
-        eventPublisher.publishAll(savedOrder.getDomainEvents());
-        savedOrder.clearDomainEvents();
+        // (los eventos pendientes viven en el agregado original, no en la copia persistida)
+        eventPublisher.publishAll(order.getDomainEvents());
+        order.clearDomainEvents();
 
         return savedOrder;
     }
+
+    @Override
+    @Transactional
+    public List<Order> executeAll(List<CreateOrderCommand> commands) {
+        log.info("Creating batch of {} orders", commands.size());
+
+        List<Order> orders = commands.stream()
+                .map(command -> Order.create(command.userId(), command.productId(), command.amount()))
+                .toList();
+
+        // Un único INSERT por lotes JDBC para todas las órdenes
+        orderRepository.insertAll(orders);
+
+        // Todos los eventos se publican juntos (una inserción por lotes en el outbox)
+        List<DomainEvent> events = new ArrayList<>();
+        for (Order order : orders) {
+            events.addAll(order.getDomainEvents());
+            order.clearDomainEvents();
+        }
+        eventPublisher.publishAll(events);
+
+        log.info("Batch of {} orders created", orders.size());
+        return orders;
+    }
 }
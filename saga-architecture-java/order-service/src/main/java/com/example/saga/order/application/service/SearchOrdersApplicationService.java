@@ -0,0 +1,42 @@
+package com.example.saga.order.application.service;
+
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.port.input.GetOrderViewUseCase.OrderView;
+import com.example.saga.order.domain.port.input.SearchOrdersUseCase;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderCursor;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderSearch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Servicio de aplicación para buscar órdenes.
+ *
+ * Pide una orden más que el tamaño de página: si llega, hay página siguiente
+ * y su cursor es la última orden devuelta. Así no hace falta contar.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SearchOrdersApplicationService implements SearchOrdersUseCase {
+
+    private final OrderRepository orderRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage execute(OrderSearch search, OrderCursor after, int pageSize) {
+        log.debug("Searching orders: {} after {} (page size {})", search, after, pageSize);
+
+        List<Order> found = orderRepository.search(search, after, pageSize + 1);
+        boolean hasMore = found.size() > pageSize;
+        List<Order> page = hasMore ? found.subList(0, pageSize) : found;
+
+        return new OrderPage(
+                page.stream().map(OrderView::of).toList(),
+                hasMore ? OrderCursor.of(page.get(page.size() - 1)) : null);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.saga.order.domain.event;
 
 import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.IdGenerator;
 import com.example.saga.order.domain.model.OrderId;
 import com.example.saga.order.domain.model.ProductId;
 import com.example.saga.order.domain.model.UserId;
@@ -21,7 +22,7 @@ public record OrderCreatedDomainEvent(
         Money amount) implements DomainEvent {
 
     public OrderCreatedDomainEvent(OrderId orderId, UserId userId, ProductId productId, Money amount) {
-        this(UUID.randomUUID(), Instant.now(), orderId, userId, productId, amount);
+        this(IdGenerator.next(), Instant.now(), orderId, userId, productId, amount);
     }
 
     @Override
@@ -1,27 +1,98 @@
 package com.example.saga.order.domain.event;
 
+import com.example.saga.order.domain.model.IdGenerator;
 import com.example.saga.order.domain.model.OrderId;
 import com.example.saga.order.domain.model.OrderStatus;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Evento de dominio que indica que el estado de una orden cambió.
+ *
+ * Un evento coalescido (ver {@link #coalesce(List)}) resume varias
+ * transiciones consecutivas de un mismo paso: previousStatus es el estado de
+ * partida, newStatus el final y intermediateStatuses los estados por los que
+ * pasó entre medias, en orden.
  */
 public record OrderStatusChangedDomainEvent(
         UUID eventId,
         Instant occurredOn,
         OrderId orderId,
         OrderStatus previousStatus,
-        OrderStatus newStatus) implements DomainEvent {
+        OrderStatus newStatus,
+        List<OrderStatus> intermediateStatuses) implements DomainEvent {
+
+    public OrderStatusChangedDomainEvent {
+        intermediateStatuses = List.copyOf(intermediateStatuses);
+    }
+
+    public OrderStatusChangedDomainEvent(UUID eventId, Instant occurredOn, OrderId orderId,
+            OrderStatus previousStatus, OrderStatus newStatus) {
+        this(eventId, occurredOn, orderId, previousStatus, newStatus, List.of());
+    }
 
     public OrderStatusChangedDomainEvent(OrderId orderId, OrderStatus previousStatus, OrderStatus newStatus) {
-        this(UUID.randomUUID(), Instant.now(), orderId, previousStatus, newStatus);
+        this(IdGenerator.next(), Instant.now(), orderId, previousStatus, newStatus);
     }
 
     @Override
     public String eventType() {
         return "order.status.changed";
     }
+
+    /**
+     * Recorrido completo: estado de partida, intermedios y estado final.
+     */
+    public List<OrderStatus> path() {
+        List<OrderStatus> path = new ArrayList<>(intermediateStatuses.size() + 2);
+        path.add(previousStatus);
+        path.addAll(intermediateStatuses);
+        path.add(newStatus);
+        return path;
+    }
+
+    /**
+     * Indica si next continúa esta transición: misma orden y parte del estado en que esta termina.
+     */
+    public boolean isContinuedBy(OrderStatusChangedDomainEvent next) {
+        return orderId.equals(next.orderId) && newStatus == next.previousStatus;
+    }
+
+    /**
+     * Une esta transición con la siguiente. Conserva el eventId de la primera
+     * y el instante de la última, que es el updatedAt de la orden.
+     */
+    public OrderStatusChangedDomainEvent followedBy(OrderStatusChangedDomainEvent next) {
+        List<OrderStatus> intermediates = new ArrayList<>(intermediateStatuses);
+        intermediates.add(newStatus);
+        intermediates.addAll(next.intermediateStatuses);
+        return new OrderStatusChangedDomainEvent(eventId, next.occurredOn, orderId, previousStatus, next.newStatus,
+                intermediates);
+    }
+
+    /**
+     * Pliega cada secuencia de transiciones consecutivas de una misma orden
+     * en un solo evento. El resto de eventos y su orden no cambian.
+     *
+     * @param events Eventos de uno o varios agregados, en orden de emisión
+     * @return Los eventos con las transiciones consecutivas coalescidas
+     */
+    public static List<DomainEvent> coalesce(List<DomainEvent> events) {
+        List<DomainEvent> coalesced = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            int last = coalesced.size() - 1;
+            if (event instanceof OrderStatusChangedDomainEvent next
+                    && last >= 0
+                    && coalesced.get(last) instanceof OrderStatusChangedDomainEvent previous
+                    && previous.isContinuedBy(next)) {
+                coalesced.set(last, previous.followedBy(next));
+            } else {
+                coalesced.add(event);
+            }
+        }
+        return coalesced;
+    }
 }
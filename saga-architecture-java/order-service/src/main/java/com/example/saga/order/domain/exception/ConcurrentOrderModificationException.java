@@ -0,0 +1,27 @@
+package com.example.saga.order.domain.exception;
+
+import com.example.saga.order.domain.model.OrderId;
+
+/**
+ * Excepción lanzada cuando se intenta guardar una orden que otro proceso ha
+ * modificado desde que se leyó (su versión ya no coincide).
+ */
+public class ConcurrentOrderModificationException extends DomainException {
+
+    private final OrderId orderId;
+    private final long expectedVersion;
+
+    public ConcurrentOrderModificationException(OrderId orderId, long expectedVersion) {
+        super(String.format("Order %s was modified concurrently (expected version %d)", orderId, expectedVersion));
+        this.orderId = orderId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
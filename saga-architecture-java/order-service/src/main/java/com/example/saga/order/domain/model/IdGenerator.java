@@ -0,0 +1,52 @@
+package com.example.saga.order.domain.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Generador de identificadores de órdenes y de eventos de dominio.
+ *
+ * El dominio pide los IDs a {@link #next()}, que delega en el generador
+ * instalado con {@link #use(IdGenerator)}. Por defecto es
+ * {@link TimeOrderedIdGenerator} (UUIDv7); infraestructura puede instalar
+ * otro al arrancar (saga.ids.generator).
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * UUIDv4 aleatorio de UUID.randomUUID().
+     */
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    UUID generate();
+
+    /**
+     * Siguiente ID del generador instalado.
+     */
+    static UUID next() {
+        return Installed.generator.generate();
+    }
+
+    /**
+     * Instala el generador que usará el dominio a partir de ahora.
+     */
+    static void use(IdGenerator generator) {
+        Installed.generator = Objects.requireNonNull(generator, "IdGenerator cannot be null");
+    }
+
+    /**
+     * Generador instalado actualmente.
+     */
+    static IdGenerator installed() {
+        return Installed.generator;
+    }
+
+    final class Installed {
+
+        private static volatile IdGenerator generator = new TimeOrderedIdGenerator();
+
+        private Installed() {
+        }
+    }
+}
@@ -2,59 +2,73 @@ package com.example.saga.order.domain.model;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Objects;
 
 /**
  * Value Object que representa un valor monetario.
  * Inmutable y con operaciones aritméticas seguras.
+ *
+ * El importe se guarda en céntimos en un long: sumas, restas y comparaciones
+ * son exactas y no reservan memoria. La conversión desde decimales
+ * ({@link #of(Double)}, {@link #of(BigDecimal)}) redondea a 2 decimales
+ * (HALF_UP) y solo se usa en los bordes (API REST).
  */
-public record Money(BigDecimal amount) {
+public record Money(long cents) {
 
-    public static final Money ZERO = new Money(BigDecimal.ZERO);
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
 
     public Money {
-        Objects.requireNonNull(amount, "Amount cannot be null");
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
+        if (cents < 0) {
             throw new IllegalArgumentException("Amount cannot be negative");
         }
-        // Normalizar a 2 decimales
-        amount = amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static Money ofCents(long cents) {
+        return new Money(cents);
     }
 
     public static Money of(Double amount) {
-        return new Money(BigDecimal.valueOf(amount));
+        return of(BigDecimal.valueOf(amount));
     }
 
     public static Money of(BigDecimal amount) {
-        return new Money(amount);
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
     }
 
     public Money add(Money other) {
-        return new Money(this.amount.add(other.amount));
+        return new Money(Math.addExact(this.cents, other.cents));
     }
 
     public Money subtract(Money other) {
-        return new Money(this.amount.subtract(other.amount));
+        return new Money(Math.subtractExact(this.cents, other.cents));
     }
 
     public boolean isGreaterThanOrEqual(Money other) {
-        return this.amount.compareTo(other.amount) >= 0;
+        return this.cents >= other.cents;
     }
 
     public boolean isGreaterThan(Money other) {
-        return this.amount.compareTo(other.amount) > 0;
+        return this.cents > other.cents;
     }
 
     public boolean isZero() {
-        return this.amount.compareTo(BigDecimal.ZERO) == 0;
+        return this.cents == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
     }
 
-    public Double toDouble() {
-        return amount.doubleValue();
+    public double toDouble() {
+        return cents / 100.0;
     }
 
     @Override
     public String toString() {
-        return amount.toString();
+        return toBigDecimal().toPlainString();
     }
 }
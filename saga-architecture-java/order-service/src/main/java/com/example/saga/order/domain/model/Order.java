@@ -48,12 +48,21 @@ public class Order {
     private final Instant createdAt;
     private Instant updatedAt;
 
+    // Versión leída de persistencia, para el bloqueo optimista (0 en órdenes nuevas)
+    private final long version;
+
+    // true solo para órdenes recién creadas con create(); las reconstruidas
+    // desde persistencia ya existen
+    @Getter(AccessLevel.NONE)
+    private boolean isNew;
+
     // Lista de eventos de dominio pendientes de publicar
     @Getter(AccessLevel.NONE)
     private final List<DomainEvent> domainEvents = new ArrayList<>();
 
     // Constructor privado - usar factory methods
-    private Order(OrderId id, UserId userId, ProductId productId, Money price, OrderStatus status, Instant createdAt) {
+    private Order(OrderId id, UserId userId, ProductId productId, Money price, OrderStatus status, Instant createdAt,
+            long version) {
         this.id = Objects.requireNonNull(id, "OrderId cannot be null");
         this.userId = Objects.requireNonNull(userId, "UserId cannot be null");
         this.productId = Objects.requireNonNull(productId, "ProductId cannot be null");
@@ -61,6 +70,7 @@ public class Order {
         this.status = Objects.requireNonNull(status, "Status cannot be null");
         this.createdAt = Objects.requireNonNull(createdAt, "CreatedAt cannot be null");
         this.updatedAt = createdAt;
+        this.version = version;
     }
 
     // ==================== FACTORY METHODS ====================
@@ -73,10 +83,11 @@ public class Order {
         OrderId orderId = OrderId.generate();
         Instant now = Instant.now();
 
-        Order order = new Order(orderId, userId, productId, price, OrderStatus.CREATED, now);
+        Order order = new Order(orderId, userId, productId, price, OrderStatus.CREATED, now, 0);
+        order.isNew = true;
 
-        // Registrar evento de dominio
-        order.registerEvent(new OrderCreatedDomainEvent(orderId, userId, productId, price));
+        // Registrar evento de dominio (con la misma marca de tiempo que createdAt)
+        order.registerEvent(new OrderCreatedDomainEvent(IdGenerator.next(), now, orderId, userId, productId, price));
 
         return order;
     }
@@ -84,14 +95,24 @@ public class Order {
     /**
      * Reconstruye una orden existente desde persistencia.
      * NO genera eventos de dominio (es solo reconstrucción).
+     *
+     * @param version Versión persistida, que se comprobará al volver a guardarla
      */
     public static Order reconstitute(OrderId id, UserId userId, ProductId productId,
-            Money price, OrderStatus status, Instant createdAt, Instant updatedAt) {
-        Order order = new Order(id, userId, productId, price, status, createdAt);
+            Money price, OrderStatus status, Instant createdAt, Instant updatedAt, long version) {
+        Order order = new Order(id, userId, productId, price, status, createdAt, version);
         order.updatedAt = updatedAt;
         return order;
     }
 
+    /**
+     * Indica si la orden aún no se ha persistido nunca (creada con create).
+     * Permite a los adaptadores de persistencia insertar sin consultar antes.
+     */
+    public boolean isNew() {
+        return isNew;
+    }
+
     // ==================== DOMAIN BEHAVIOR ====================
 
     /**
@@ -102,21 +123,44 @@ public class Order {
         changeStatus(OrderStatus.PAYMENT_PENDING);
     }
 
+    /**
+     * Marca pago e inventario como pendientes a la vez (saga en paralelo).
+     */
+    public void markPaymentAndInventoryPending() {
+        if (status != OrderStatus.CREATED) {
+            throw new InvalidOrderStateException(status, "mark payment and inventory pending");
+        }
+        changeStatus(OrderStatus.PAYMENT_AND_INVENTORY_PENDING);
+    }
+
     /**
      * Confirma que el pago fue completado exitosamente.
+     *
+     * En la saga en paralelo la orden pasa a esperar el inventario o, si ya
+     * estaba reservado, queda en INVENTORY_RESERVED lista para completarse.
      */
     public void confirmPayment() {
-        if (status != OrderStatus.CREATED && status != OrderStatus.PAYMENT_PENDING) {
-            throw new InvalidOrderStateException(status, "confirm payment");
+        switch (status) {
+            case CREATED, PAYMENT_PENDING -> changeStatus(OrderStatus.PAYMENT_COMPLETED);
+            case PAYMENT_AND_INVENTORY_PENDING -> {
+                changeStatus(OrderStatus.PAYMENT_COMPLETED);
+                changeStatus(OrderStatus.INVENTORY_PENDING);
+            }
+            case INVENTORY_RESERVED_PAYMENT_PENDING -> {
+                changeStatus(OrderStatus.PAYMENT_COMPLETED);
+                changeStatus(OrderStatus.INVENTORY_RESERVED);
+            }
+            default -> throw new InvalidOrderStateException(status, "confirm payment");
         }
-        changeStatus(OrderStatus.PAYMENT_COMPLETED);
     }
 
     /**
      * Marca el pago como fallido.
      */
     public void failPayment() {
-        if (status != OrderStatus.CREATED && status != OrderStatus.PAYMENT_PENDING) {
+        if (status != OrderStatus.CREATED && status != OrderStatus.PAYMENT_PENDING
+                && status != OrderStatus.PAYMENT_AND_INVENTORY_PENDING
+                && status != OrderStatus.INVENTORY_RESERVED_PAYMENT_PENDING) {
             throw new InvalidOrderStateException(status, "fail payment");
         }
         changeStatus(OrderStatus.PAYMENT_FAILED);
@@ -136,19 +180,22 @@ public class Order {
 
     /**
      * Confirma que el inventario fue reservado exitosamente.
+     * En la saga en paralelo, si el pago aún no ha respondido, la orden pasa a esperarlo.
      */
     public void confirmInventory() {
-        if (status != OrderStatus.PAYMENT_COMPLETED && status != OrderStatus.INVENTORY_PENDING) {
-            throw new InvalidOrderStateException(status, "confirm inventory");
+        switch (status) {
+            case PAYMENT_COMPLETED, INVENTORY_PENDING -> changeStatus(OrderStatus.INVENTORY_RESERVED);
+            case PAYMENT_AND_INVENTORY_PENDING -> changeStatus(OrderStatus.INVENTORY_RESERVED_PAYMENT_PENDING);
+            default -> throw new InvalidOrderStateException(status, "confirm inventory");
         }
-        changeStatus(OrderStatus.INVENTORY_RESERVED);
     }
 
     /**
      * Marca la reserva de inventario como fallida.
      */
     public void failInventory() {
-        if (status != OrderStatus.PAYMENT_COMPLETED && status != OrderStatus.INVENTORY_PENDING) {
+        if (status != OrderStatus.PAYMENT_COMPLETED && status != OrderStatus.INVENTORY_PENDING
+                && status != OrderStatus.PAYMENT_AND_INVENTORY_PENDING) {
             throw new InvalidOrderStateException(status, "fail inventory");
         }
         changeStatus(OrderStatus.INVENTORY_FAILED);
@@ -179,10 +226,11 @@ public class Order {
     // ==================== PRIVATE HELPERS ====================
 
     private void changeStatus(OrderStatus newStatus) {
-        OrderStatus previousStatus = this.status;
+        OrderStatusChangedDomainEvent event = new OrderStatusChangedDomainEvent(this.id, this.status, newStatus);
         this.status = newStatus;
-        this.updatedAt = Instant.now();
-        registerEvent(new OrderStatusChangedDomainEvent(this.id, previousStatus, newStatus));
+        // updatedAt coincide con el evento: reproducir los eventos da el mismo estado
+        this.updatedAt = event.occurredOn();
+        registerEvent(event);
     }
 
     private void validateStateTransition(OrderStatus targetStatus, String action) {
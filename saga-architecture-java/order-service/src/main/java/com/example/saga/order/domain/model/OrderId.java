@@ -6,6 +6,7 @@ import java.util.UUID;
 /**
  * Value Object que representa el identificador único de una orden.
  * Inmutable y con validación en construcción.
+ * Los IDs nuevos salen del {@link IdGenerator} instalado (UUIDv7 por defecto).
  */
 public record OrderId(UUID value) {
 
@@ -14,7 +15,7 @@ public record OrderId(UUID value) {
     }
 
     public static OrderId generate() {
-        return new OrderId(UUID.randomUUID());
+        return new OrderId(IdGenerator.next());
     }
 
     public static OrderId of(UUID value) {
@@ -13,6 +13,9 @@ public enum OrderStatus {
     INVENTORY_PENDING("Esperando reserva de inventario"),
     INVENTORY_RESERVED("Inventario reservado exitosamente"),
     INVENTORY_FAILED("Reserva de inventario fallida"),
+    // Modo paralelo (saga.mode=parallel): pago y reserva se piden a la vez
+    PAYMENT_AND_INVENTORY_PENDING("Esperando confirmación de pago y reserva de inventario"),
+    INVENTORY_RESERVED_PAYMENT_PENDING("Inventario reservado, esperando confirmación de pago"),
     COMPLETED("Orden completada exitosamente"),
     CANCELLED("Orden cancelada");
 
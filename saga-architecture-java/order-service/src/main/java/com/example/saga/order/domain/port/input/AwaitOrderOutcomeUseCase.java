@@ -0,0 +1,33 @@
+package com.example.saga.order.domain.port.input;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Puerto de entrada para esperar el resultado final de la saga de una orden.
+ */
+public interface AwaitOrderOutcomeUseCase {
+
+    /**
+     * Espera a que la orden llegue a un estado terminal (COMPLETED o CANCELLED).
+     *
+     * @param orderId ID de la orden
+     * @param timeout Espera máxima
+     * @return Future que se completa con el resultado, o con TimeoutException
+     *         si la saga no termina a tiempo
+     */
+    CompletableFuture<SagaOutcome> execute(OrderId orderId, Duration timeout);
+
+    /**
+     * Resultado final de la saga.
+     */
+    record SagaOutcome(
+            OrderId orderId,
+            OrderStatus status,
+            Instant completedAt) {
+    }
+}
@@ -5,6 +5,8 @@ import com.example.saga.order.domain.model.Order;
 import com.example.saga.order.domain.model.ProductId;
 import com.example.saga.order.domain.model.UserId;
 
+import java.util.List;
+
 /**
  * Puerto de entrada para el caso de uso de crear una orden.
  * Define el contrato para la creación de órdenes desde cualquier adaptador.
@@ -19,6 +21,14 @@ public interface CreateOrderUseCase {
      */
     Order execute(CreateOrderCommand command);
 
+    /**
+     * Crea varias órdenes en una sola transacción y dispara una saga por cada una.
+     *
+     * @param commands Comandos ya validados
+     * @return Las órdenes creadas, en el mismo orden que los comandos
+     */
+    List<Order> executeAll(List<CreateOrderCommand> commands);
+
     /**
      * Comando que encapsula los datos necesarios para crear una orden.
      */
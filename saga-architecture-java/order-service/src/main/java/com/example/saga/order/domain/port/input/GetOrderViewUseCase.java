@@ -0,0 +1,60 @@
+package com.example.saga.order.domain.port.input;
+
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Puerto de entrada para consultar la vista de lectura de una orden.
+ *
+ * A diferencia de GetOrderUseCase no devuelve el agregado sino una vista
+ * inmutable, que puede servirse desde memoria y llevar un pequeño retraso
+ * respecto a la base de datos.
+ */
+public interface GetOrderViewUseCase {
+
+    /**
+     * Obtiene la vista de una orden por su ID.
+     *
+     * @param orderId ID de la orden a buscar
+     * @return La vista si la orden existe
+     */
+    Optional<OrderView> execute(OrderId orderId);
+
+    /**
+     * Vista de lectura de una orden.
+     */
+    record OrderView(
+            OrderId orderId,
+            UserId userId,
+            ProductId productId,
+            Money price,
+            OrderStatus status,
+            Instant createdAt,
+            Instant updatedAt) {
+
+        public static OrderView of(Order order) {
+            return new OrderView(
+                    order.getId(),
+                    order.getUserId(),
+                    order.getProductId(),
+                    order.getPrice(),
+                    order.getStatus(),
+                    order.getCreatedAt(),
+                    order.getUpdatedAt());
+        }
+
+        /**
+         * Copia tras una transición de estado.
+         */
+        public OrderView withStatus(OrderStatus newStatus, Instant changedAt) {
+            return new OrderView(orderId, userId, productId, price, newStatus, createdAt, changedAt);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.saga.order.domain.port.input;
+
+import com.example.saga.order.domain.port.input.GetOrderViewUseCase.OrderView;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderCursor;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderSearch;
+
+import java.util.List;
+
+/**
+ * Puerto de entrada para buscar órdenes por filtros, página a página.
+ */
+public interface SearchOrdersUseCase {
+
+    /**
+     * Devuelve la página de órdenes que sigue al cursor.
+     *
+     * @param search   Filtros de búsqueda
+     * @param after    Cursor de la página anterior, o null para la primera
+     * @param pageSize Órdenes por página
+     * @return La página, con el cursor de la siguiente si hay más
+     */
+    OrderPage execute(OrderSearch search, OrderCursor after, int pageSize);
+
+    /**
+     * Página de resultados. next es null en la última página.
+     */
+    record OrderPage(
+            List<OrderView> orders,
+            OrderCursor next) {
+
+        public boolean hasMore() {
+            return next != null;
+        }
+    }
+}
@@ -2,7 +2,13 @@ package com.example.saga.order.domain.port.output;
 
 import com.example.saga.order.domain.model.Order;
 import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.UserId;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -22,6 +28,22 @@ public interface OrderRepository {
      */
     Order save(Order order);
 
+    /**
+     * Guarda varias órdenes en una sola operación (crear o actualizar).
+     *
+     * @param orders Las órdenes a guardar
+     * @return Las órdenes persistidas
+     */
+    List<Order> saveAll(List<Order> orders);
+
+    /**
+     * Inserta órdenes nuevas en lote, sin comprobar si ya existen.
+     * Pensado para altas masivas: una orden repetida hace fallar todo el lote.
+     *
+     * @param orders Órdenes recién creadas
+     */
+    void insertAll(List<Order> orders);
+
     /**
      * Busca una orden por su ID.
      *
@@ -30,6 +52,26 @@ public interface OrderRepository {
      */
     Optional<Order> findById(OrderId orderId);
 
+    /**
+     * Busca varias órdenes por sus IDs en una sola consulta.
+     * Los IDs que no existan simplemente no aparecen en el resultado.
+     *
+     * @param orderIds IDs de las órdenes
+     * @return Las órdenes encontradas
+     */
+    List<Order> findAllById(Collection<OrderId> orderIds);
+
+    /**
+     * Como findAllById, pero leyendo siempre del almacén, sin cachés
+     * intermedias: refleja lo que haya confirmado cualquier instancia.
+     *
+     * @param orderIds IDs de las órdenes
+     * @return Las órdenes encontradas
+     */
+    default List<Order> findAllByIdFromStore(Collection<OrderId> orderIds) {
+        return findAllById(orderIds);
+    }
+
     /**
      * Verifica si existe una orden con el ID dado.
      *
@@ -37,4 +79,46 @@ public interface OrderRepository {
      * @return true si existe
      */
     boolean existsById(OrderId orderId);
+
+    /**
+     * Cuenta las órdenes agrupadas por estado.
+     * Los estados sin órdenes no aparecen en el resultado.
+     *
+     * @return Número de órdenes por estado
+     */
+    Map<OrderStatus, Long> countByStatus();
+
+    /**
+     * Busca órdenes por filtros con paginación por clave (keyset), en orden
+     * de (createdAt, id). El coste depende del tamaño de página, no de la
+     * profundidad: cada página continúa a partir de la última fila de la
+     * anterior sin contar ni saltar filas.
+     *
+     * @param search Filtros; los nulos no se aplican
+     * @param after  Última orden de la página anterior, o null para la primera
+     * @param limit  Número máximo de órdenes a devolver
+     * @return Las órdenes siguientes al cursor, como mucho limit
+     */
+    List<Order> search(OrderSearch search, OrderCursor after, int limit);
+
+    /**
+     * Filtros de búsqueda de órdenes. Todos opcionales.
+     */
+    record OrderSearch(
+            OrderStatus status,
+            UserId userId,
+            Instant createdAfter) {
+    }
+
+    /**
+     * Posición en el orden (createdAt, id) de la búsqueda.
+     */
+    record OrderCursor(
+            Instant createdAt,
+            OrderId orderId) {
+
+        public static OrderCursor of(Order order) {
+            return new OrderCursor(order.getCreatedAt(), order.getId());
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.saga.order.domain.port.output;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Puerto de salida para el registro de mensajes ya procesados.
+ * Permite descartar mensajes duplicados (reentregas de Kafka) de forma
+ * idempotente.
+ *
+ * El registro es la referencia compartida por todas las instancias: un
+ * mensaje se reclama insertando su clave, en la misma transacción que sus
+ * efectos, antes de aplicarlo.
+ */
+public interface ProcessedMessageRepository {
+
+    /**
+     * Registra el mensaje si no lo estaba.
+     *
+     * @param messageKey Clave del mensaje
+     * @param processedAt Instante de procesamiento
+     * @return true si se ha registrado ahora; false si ya estaba registrado
+     */
+    boolean claim(String messageKey, Instant processedAt);
+
+    /**
+     * Registra los mensajes que no lo estaban.
+     *
+     * @param messageKeys Claves de los mensajes
+     * @param processedAt Instante de procesamiento
+     * @return Claves registradas ahora
+     */
+    Set<String> claimAll(Collection<String> messageKeys, Instant processedAt);
+
+    /**
+     * Elimina los registros anteriores a la fecha indicada.
+     *
+     * @param threshold Fecha límite
+     * @return Número de registros eliminados
+     */
+    int deleteProcessedBefore(Instant threshold);
+}
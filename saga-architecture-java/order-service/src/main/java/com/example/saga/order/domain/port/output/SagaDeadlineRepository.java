@@ -0,0 +1,72 @@
+package com.example.saga.order.domain.port.output;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Puerto de salida para los plazos de los pasos de la saga.
+ *
+ * Cada orden con un paso en curso (cualquier estado *_PENDING de OrderStatus)
+ * tiene como máximo un plazo pendiente. Los plazos se guardan aparte de las órdenes
+ * para poder localizar los vencidos sin recorrer la tabla de órdenes.
+ */
+public interface SagaDeadlineRepository {
+
+    /**
+     * Registra (o sustituye) el plazo del paso en curso de una orden.
+     *
+     * @param deadline Plazo a registrar
+     */
+    void schedule(SagaDeadline deadline);
+
+    /**
+     * Elimina el plazo de una orden, si lo tiene.
+     *
+     * @param orderId ID de la orden
+     */
+    void cancel(OrderId orderId);
+
+    /**
+     * Busca los plazos que vencen antes del instante dado, los más antiguos primero.
+     *
+     * @param limit Instante límite (exclusivo)
+     * @param maxResults Número máximo de plazos a devolver
+     * @return Plazos ordenados por vencimiento
+     */
+    List<SagaDeadline> findDueBefore(Instant limit, int maxResults);
+
+    /**
+     * Reclama un plazo vencido para compensarlo. Solo una llamada concurrente
+     * puede reclamarlo: las demás (u otra instancia) reciben false.
+     *
+     * @param orderId ID de la orden
+     * @param step Paso al que corresponde el plazo
+     * @param now Instante actual; el plazo debe haber vencido
+     * @return true si el plazo existía, era de ese paso y ha vencido
+     */
+    boolean claim(OrderId orderId, OrderStatus step, Instant now);
+
+    /**
+     * Aplaza un plazo cuya compensación ha fallado, para que no se vuelva a
+     * cargar antes que los demás plazos vencidos. Solo cambia la fila si sigue
+     * siendo del mismo paso y vence antes del nuevo vencimiento: nunca la
+     * adelanta ni toca el plazo de un paso posterior.
+     *
+     * @param deadline Plazo que se intentó compensar
+     * @param dueAt Nuevo vencimiento
+     * @return true si se ha aplazado; false si la saga avanzó o otro lo atendió
+     */
+    boolean postpone(SagaDeadline deadline, Instant dueAt);
+
+    /**
+     * Plazo de un paso de la saga.
+     */
+    record SagaDeadline(
+            OrderId orderId,
+            OrderStatus step,
+            Instant dueAt) {
+    }
+}
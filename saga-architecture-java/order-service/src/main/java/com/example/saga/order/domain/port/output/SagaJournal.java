@@ -0,0 +1,70 @@
+package com.example.saga.order.domain.port.output;
+
+import com.example.saga.order.domain.model.OrderId;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Puerto de salida para el diario local de la saga.
+ *
+ * Registra, solo añadiendo, cada comando que envía el orquestador y cada
+ * resultado que recibe. Tras una caída se reproduce para saber qué sagas
+ * esperaban respuesta sin consultar la base de datos. No sustituye a
+ * saga_deadline, que sigue siendo la referencia: el diario solo acelera la
+ * recuperación.
+ */
+public interface SagaJournal {
+
+    /**
+     * Añade una entrada al diario.
+     *
+     * @param entry Entrada a registrar
+     */
+    void append(Entry entry);
+
+    /**
+     * Recorre, en orden de escritura, las entradas escritas antes de este arranque.
+     *
+     * @param visitor Recibe cada entrada válida
+     */
+    void replay(Consumer<Entry> visitor);
+
+    /**
+     * Descarta las entradas anteriores a este arranque salvo las indicadas,
+     * que se vuelven a escribir.
+     *
+     * @param live Entradas que deben sobrevivir (sagas aún en curso)
+     */
+    void compact(Collection<Entry> live);
+
+    /**
+     * Entrada del diario.
+     */
+    record Entry(
+            Type type,
+            OrderId orderId,
+            Instant at) {
+
+        public static Entry now(Type type, OrderId orderId) {
+            return new Entry(type, orderId, Instant.now());
+        }
+    }
+
+    /**
+     * Tipos de entrada. Solo pueden añadirse constantes al final: el
+     * formato en disco guarda el ordinal.
+     */
+    enum Type {
+        PAYMENT_REQUESTED,
+        INVENTORY_REQUESTED,
+        REFUND_REQUESTED,
+        PAYMENT_COMPLETED,
+        PAYMENT_FAILED,
+        INVENTORY_RESERVED,
+        INVENTORY_REJECTED,
+        RELEASE_REQUESTED,
+        PAYMENT_AND_INVENTORY_REQUESTED
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.saga.order.domain.port.output;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Puerto de salida para repartir tareas periódicas entre instancias.
+ *
+ * Todas las instancias programan la tarea, pero en cada intervalo solo una
+ * consigue reclamarla y la ejecuta.
+ */
+public interface ScheduledTaskLock {
+
+    /**
+     * Reclama la siguiente ejecución de una tarea.
+     *
+     * @param taskName Nombre de la tarea
+     * @param now Instante actual
+     * @param minInterval Tiempo mínimo desde la última ejecución reclamada
+     * @return true si esta llamada ejecuta la tarea; false si otra instancia
+     *         la ha ejecutado hace menos de minInterval
+     */
+    boolean tryClaim(String taskName, Instant now, Duration minInterval);
+}
@@ -7,12 +7,16 @@ import com.example.saga.common.OrderStatus;
 import com.example.saga.common.PaymentEvent;
 import com.example.saga.common.PaymentStatus;
 import com.example.saga.order.application.saga.OrderSagaOrchestrator;
+import com.example.saga.order.application.saga.ProcessedMessages;
+import com.example.saga.order.application.saga.SagaStepOutcome;
 import com.example.saga.order.domain.model.OrderId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
@@ -24,16 +28,33 @@ import java.util.function.Consumer;
  * - orderCreatedConsumer-in-0 -> order-events
  * - paymentEventConsumer-in-0 -> payment-events
  * - inventoryEventConsumer-in-0 -> inventory-events
+ *
+ * Con el perfil "batch" se usan en su lugar los consumidores por lotes
+ * (paymentEventBatchConsumer / inventoryEventBatchConsumer), que entregan al
+ * orquestador todos los registros de un poll de Kafka de una vez.
+ *
+ * Los mensajes son idempotentes: cada uno se identifica por paso + orderId
+ * (una orden recibe un único resultado de pago y de inventario) y
+ * ProcessedMessages descarta las reentregas antes de llegar al orquestador.
+ * Si un paso choca con otro de la misma orden (bloqueo optimista), se
+ * reintenta con OrderSagaOrchestrator.retryOnConflict.
  */
 @Configuration
 @Slf4j
 @RequiredArgsConstructor
 public class SagaEventConsumers {
 
+    private static final String PAYMENT_STEP = "payment";
+    private static final String INVENTORY_STEP = "inventory";
+
     private final OrderSagaOrchestrator sagaOrchestrator;
+    private final ProcessedMessages processedMessages;
 
     /**
      * Consume eventos de orden creada para iniciar la saga.
+     * Con saga.start-mode=in-process la saga normalmente ya se ha iniciado en
+     * proceso y el evento se descarta como duplicado; si ese inicio no llegó a
+     * ejecutarse, este consumidor lo suple.
      */
     @Bean
     public Consumer<OrderEvent> orderCreatedConsumer() {
@@ -42,7 +63,7 @@ public class SagaEventConsumers {
 
             if (orderEvent.status().equals(OrderStatus.ORDER_CREATED)) {
                 OrderId orderId = OrderId.of(orderEvent.orderRequest().orderId());
-                sagaOrchestrator.onOrderCreated(orderId);
+                process(ProcessedMessages.ORDER_CREATED_STEP, orderId, () -> sagaOrchestrator.onOrderCreated(orderId));
             }
         };
     }
@@ -63,9 +84,9 @@ public class SagaEventConsumers {
             OrderId orderId = OrderId.of(paymentEvent.paymentRequest().orderId());
 
             if (paymentEvent.status().equals(PaymentStatus.PAYMENT_COMPLETED)) {
-                sagaOrchestrator.onPaymentCompleted(orderId);
+                process(PAYMENT_STEP, orderId, () -> sagaOrchestrator.onPaymentCompleted(orderId));
             } else if (paymentEvent.status().equals(PaymentStatus.PAYMENT_FAILED)) {
-                sagaOrchestrator.onPaymentFailed(orderId);
+                process(PAYMENT_STEP, orderId, () -> sagaOrchestrator.onPaymentFailed(orderId));
             }
         };
     }
@@ -86,10 +107,76 @@ public class SagaEventConsumers {
             OrderId orderId = OrderId.of(inventoryEvent.inventoryRequest().orderId());
 
             if (inventoryEvent.status().equals(InventoryStatus.INVENTORY_RESERVED)) {
-                sagaOrchestrator.onInventoryReserved(orderId);
+                process(INVENTORY_STEP, orderId, () -> sagaOrchestrator.onInventoryReserved(orderId));
             } else if (inventoryEvent.status().equals(InventoryStatus.INVENTORY_REJECTED)) {
-                sagaOrchestrator.onInventoryRejected(orderId);
+                process(INVENTORY_STEP, orderId, () -> sagaOrchestrator.onInventoryRejected(orderId));
             }
         };
     }
+
+    /**
+     * Consume lotes de eventos de pago (modo batch).
+     */
+    @Bean
+    public Consumer<List<PaymentEvent>> paymentEventBatchConsumer() {
+        return paymentEvents -> {
+            log.info("Kafka: Received batch of {} PaymentEvents", paymentEvents.size());
+
+            List<SagaStepOutcome> outcomes = paymentEvents.stream()
+                    .map(this::toOutcome)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            sagaOrchestrator.retryOnConflict(() -> processedMessages.runOnce(outcomes,
+                    outcome -> messageKey(PAYMENT_STEP, outcome.orderId()), sagaOrchestrator::onPaymentResults));
+        };
+    }
+
+    /**
+     * Consume lotes de eventos de inventario (modo batch).
+     */
+    @Bean
+    public Consumer<List<InventoryEvent>> inventoryEventBatchConsumer() {
+        return inventoryEvents -> {
+            log.info("Kafka: Received batch of {} InventoryEvents", inventoryEvents.size());
+
+            List<SagaStepOutcome> outcomes = inventoryEvents.stream()
+                    .map(this::toOutcome)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            sagaOrchestrator.retryOnConflict(() -> processedMessages.runOnce(outcomes,
+                    outcome -> messageKey(INVENTORY_STEP, outcome.orderId()), sagaOrchestrator::onInventoryResults));
+        };
+    }
+
+    private SagaStepOutcome toOutcome(PaymentEvent paymentEvent) {
+        if (paymentEvent.paymentRequest() == null || paymentEvent.paymentRequest().orderId() == null) {
+            log.warn("Kafka: PaymentEvent received with null order ID, ignoring");
+            return null;
+        }
+        OrderId orderId = OrderId.of(paymentEvent.paymentRequest().orderId());
+        return new SagaStepOutcome(orderId, PaymentStatus.PAYMENT_COMPLETED.equals(paymentEvent.status()));
+    }
+
+    private SagaStepOutcome toOutcome(InventoryEvent inventoryEvent) {
+        if (inventoryEvent.inventoryRequest() == null || inventoryEvent.inventoryRequest().orderId() == null) {
+            log.warn("Kafka: InventoryEvent received with null order ID, ignoring");
+            return null;
+        }
+        OrderId orderId = OrderId.of(inventoryEvent.inventoryRequest().orderId());
+        return new SagaStepOutcome(orderId, InventoryStatus.INVENTORY_RESERVED.equals(inventoryEvent.status()));
+    }
+
+    /**
+     * Aplica un paso una sola vez por mensaje, reintentándolo entero (incluida
+     * la comprobación de duplicados) si choca con otro paso de la misma orden.
+     */
+    private void process(String step, OrderId orderId, Runnable action) {
+        sagaOrchestrator.retryOnConflict(() -> processedMessages.runOnce(messageKey(step, orderId), action));
+    }
+
+    private static String messageKey(String step, OrderId orderId) {
+        return ProcessedMessages.messageKey(step, orderId);
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.saga.order.infrastructure.adapter.input.messaging;
+
+import com.example.saga.order.infrastructure.adapter.output.persistence.CachingOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.stream.binder.kafka.KafkaBindingRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Listener de rebalanceo para el modo multi-instancia.
+ *
+ * Tras el commit de offsets de las particiones revocadas invalida la caché de
+ * órdenes: a partir de ahora otra instancia puede modificar las órdenes de
+ * esas particiones.
+ *
+ * No hace falta esperar a los pasos en curso: Kafka invoca la revocación en
+ * el mismo hilo de poll que procesa los registros de esas particiones, así
+ * que cuando llega aquí ya no queda ningún paso suyo a medio aplicar.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SagaRebalanceListener implements KafkaBindingRebalanceListener {
+
+    private final ObjectProvider<CachingOrderRepository> orderCache;
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(String bindingName, Consumer<?, ?> consumer,
+            Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        orderCache.ifAvailable(CachingOrderRepository::invalidateAll);
+    }
+
+    @Override
+    public void onPartitionsAssigned(String bindingName, Consumer<?, ?> consumer,
+            Collection<TopicPartition> partitions, boolean initial) {
+        log.info("Rebalance: {} assigned {} (initial: {})", bindingName, partitions, initial);
+    }
+}
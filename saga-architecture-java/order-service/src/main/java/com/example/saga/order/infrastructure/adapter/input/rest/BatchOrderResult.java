@@ -0,0 +1,31 @@
+package com.example.saga.order.infrastructure.adapter.input.rest;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resultado de un elemento de POST /orders/batch.
+ * Va en la misma posición que la petición correspondiente.
+ */
+@Schema(description = "Resultado de un pedido dentro de un alta masiva")
+public record BatchOrderResult(
+        @Schema(description = "Posición del pedido en la petición", example = "0") int index,
+
+        @Schema(description = "CREATED o REJECTED") Outcome outcome,
+
+        @Schema(description = "Pedido creado (solo si outcome = CREATED)") OrderResponse order,
+
+        @Schema(description = "Motivo del rechazo (solo si outcome = REJECTED)") String error) {
+
+    public enum Outcome {
+        CREATED,
+        REJECTED
+    }
+
+    public static BatchOrderResult created(int index, OrderResponse order) {
+        return new BatchOrderResult(index, Outcome.CREATED, order, null);
+    }
+
+    public static BatchOrderResult rejected(int index, String error) {
+        return new BatchOrderResult(index, Outcome.REJECTED, null, error);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.saga.order.infrastructure.adapter.input.rest;
 
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
 import com.example.saga.order.domain.exception.DomainException;
 import com.example.saga.order.domain.exception.InvalidOrderStateException;
 import com.example.saga.order.domain.exception.OrderNotFoundException;
@@ -10,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.Map;
@@ -42,6 +44,15 @@ public class GlobalExceptionHandler {
                 "timestamp", Instant.now()));
     }
 
+    @ExceptionHandler(ConcurrentOrderModificationException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrentModification(ConcurrentOrderModificationException ex) {
+        log.warn("Concurrent order modification: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", "Concurrent Modification",
+                "message", ex.getMessage(),
+                "timestamp", Instant.now()));
+    }
+
     @ExceptionHandler(DomainException.class)
     public ResponseEntity<Map<String, Object>> handleDomainException(DomainException ex) {
         log.error("Domain exception: {}", ex.getMessage());
@@ -73,6 +84,15 @@ public class GlobalExceptionHandler {
                 "timestamp", Instant.now()));
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        log.warn("Invalid parameter {}: {}", ex.getName(), ex.getValue());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "error", "Invalid Request",
+                "message", "Invalid value for parameter '" + ex.getName() + "': " + ex.getValue(),
+                "timestamp", Instant.now()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         log.error("Unexpected error", ex);
@@ -2,6 +2,7 @@ package com.example.saga.order.infrastructure.adapter.input.rest;
 
 import com.example.saga.order.domain.model.Order;
 import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.input.GetOrderViewUseCase.OrderView;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.Instant;
@@ -39,4 +40,25 @@ public record OrderResponse(
                 order.getCreatedAt(),
                 order.getUpdatedAt());
     }
+
+    /**
+     * Crea un OrderResponse a partir de la vista de lectura.
+     */
+    public static OrderResponse fromView(OrderView view) {
+        return new OrderResponse(
+                view.orderId().value(),
+                view.userId().value(),
+                view.productId().value(),
+                view.price().toDouble(),
+                view.status(),
+                view.createdAt(),
+                view.updatedAt());
+    }
+
+    /**
+     * Copia con el estado final de la saga.
+     */
+    public OrderResponse withOutcome(OrderStatus finalStatus, Instant completedAt) {
+        return new OrderResponse(id, userId, productId, price, finalStatus, createdAt, completedAt);
+    }
 }
@@ -1,20 +1,42 @@
 package com.example.saga.order.infrastructure.adapter.input.rest;
 
+import com.example.saga.order.domain.exception.DomainException;
 import com.example.saga.order.domain.model.Order;
 import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.input.AwaitOrderOutcomeUseCase;
 import com.example.saga.order.domain.port.input.CreateOrderUseCase;
 import com.example.saga.order.domain.port.input.CreateOrderUseCase.CreateOrderCommand;
-import com.example.saga.order.domain.port.input.GetOrderUseCase;
+import com.example.saga.order.domain.port.input.GetOrderViewUseCase;
+import com.example.saga.order.domain.port.input.SearchOrdersUseCase;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderCursor;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderSearch;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * Adaptador REST de entrada para la gestión de órdenes.
@@ -28,15 +50,35 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrderRestController {
 
+    private static final String PREFER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+
     private final CreateOrderUseCase createOrderUseCase;
-    private final GetOrderUseCase getOrderUseCase;
+    private final GetOrderViewUseCase getOrderViewUseCase;
+    private final SearchOrdersUseCase searchOrdersUseCase;
+    private final AwaitOrderOutcomeUseCase awaitOrderOutcomeUseCase;
     private final OrderRestMapper mapper;
+    private final OrderStatusStreams statusStreams;
+    private final Validator validator;
+
+    @Value("${saga.wait.max-millis:20000}")
+    private long maxWaitMillis;
+
+    @Value("${saga.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${saga.search.max-page-size:1000}")
+    private int maxPageSize;
 
     @PostMapping
-    @Operation(summary = "Crear Pedido", description = "Inicia el proceso de creación de pedido disparando la Saga Orquestada.")
+    @Operation(summary = "Crear Pedido", description = "Inicia el proceso de creación de pedido disparando la Saga Orquestada. "
+            + "Con la cabecera 'Prefer: respond-async' responde 202 y el progreso se sigue en GET /orders/{orderId}/events.")
     @ApiResponse(responseCode = "200", description = "Pedido aceptado y en proceso")
+    @ApiResponse(responseCode = "202", description = "Pedido aceptado (Prefer: respond-async); Location apunta al pedido")
     @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
-    public ResponseEntity<OrderResponse> createOrder(@RequestBody @Valid CreateOrderRequest request) {
+    public ResponseEntity<OrderResponse> createOrder(@RequestBody @Valid CreateOrderRequest request,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
         log.info("REST: Received create order request for userId: {}", request.userId());
 
         // Convertir request REST a comando de dominio usando mapper
@@ -49,18 +91,156 @@ public class OrderRestController {
         OrderResponse response = mapper.toResponse(order);
 
         log.info("REST: Order created successfully with ID: {}", response.id());
+
+        if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            return accepted(response);
+        }
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(params = "waitMillis")
+    @Operation(summary = "Crear Pedido y esperar resultado", description = "Crea el pedido y mantiene la petición abierta (sin ocupar hilo) "
+            + "hasta que la saga termina o pasan waitMillis ms (máximo saga.wait.max-millis).")
+    @ApiResponse(responseCode = "200", description = "Saga terminada: pedido COMPLETED o CANCELLED")
+    @ApiResponse(responseCode = "202", description = "La saga sigue en curso al expirar la espera; Location apunta al pedido")
+    @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
+    public CompletableFuture<ResponseEntity<OrderResponse>> createOrderAndWait(
+            @RequestBody @Valid CreateOrderRequest request,
+            @RequestParam long waitMillis) {
+        log.info("REST: Received create order request for userId: {} (waiting up to {} ms)", request.userId(), waitMillis);
+
+        Order order = createOrderUseCase.execute(mapper.toCommand(request));
+        OrderResponse response = mapper.toResponse(order);
+        URI location = locationOf(response);
+
+        Duration wait = Duration.ofMillis(Math.max(0, Math.min(waitMillis, maxWaitMillis)));
+        return awaitOrderOutcomeUseCase.execute(order.getId(), wait)
+                .thenApply(outcome -> ResponseEntity.ok(response.withOutcome(outcome.status(), outcome.completedAt())))
+                .exceptionally(timeout -> {
+                    log.info("REST: Saga for order {} still running after {} ms", response.id(), wait.toMillis());
+                    return ResponseEntity.accepted().location(location).body(response);
+                });
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Crear Pedidos en lote", description = "Valida todos los pedidos de una vez, inserta los válidos en una "
+            + "sola transacción con INSERT por lotes y dispara una saga por cada uno. Devuelve un resultado por pedido, "
+            + "en el mismo orden; los inválidos se rechazan sin afectar al resto.")
+    @ApiResponse(responseCode = "200", description = "Lote procesado; cada elemento indica CREATED o REJECTED")
+    @ApiResponse(responseCode = "400", description = "Lote vacío o con más de saga.batch.max-size pedidos")
+    public ResponseEntity<List<BatchOrderResult>> createOrders(@RequestBody List<CreateOrderRequest> requests) {
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch must contain between 1 and " + maxBatchSize + " orders, got " + requests.size());
+        }
+        log.info("REST: Received batch of {} create order requests", requests.size());
+
+        // 1. Validar todo el lote en una pasada
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>(requests.size());
+        List<CreateOrderCommand> commands = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error == null) {
+                try {
+                    commands.add(mapper.toCommand(requests.get(i)));
+                    acceptedIndexes.add(i);
+                } catch (IllegalArgumentException | DomainException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                results[i] = BatchOrderResult.rejected(i, error);
+            }
+        }
+
+        // 2. Crear los válidos en una sola transacción
+        if (!commands.isEmpty()) {
+            List<Order> orders = createOrderUseCase.executeAll(commands);
+            for (int j = 0; j < orders.size(); j++) {
+                int index = acceptedIndexes.get(j);
+                results[index] = BatchOrderResult.created(index, mapper.toResponse(orders.get(j)));
+            }
+        }
+
+        log.info("REST: Batch processed, {} created, {} rejected", commands.size(), requests.size() - commands.size());
+        return ResponseEntity.ok(List.of(results));
+    }
+
+    private String validate(CreateOrderRequest request) {
+        if (request == null) {
+            return "Order cannot be null";
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private ResponseEntity<OrderResponse> accepted(OrderResponse response) {
+        return ResponseEntity.accepted()
+                .location(locationOf(response))
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                .body(response);
+    }
+
+    private URI locationOf(OrderResponse response) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQuery(null)
+                .path("/{orderId}").buildAndExpand(response.id()).toUri();
+    }
+
+    @GetMapping
+    @Operation(summary = "Buscar Pedidos", description = "Lista pedidos por estado, usuario y fecha de creación, "
+            + "ordenados por (createdAt, id). Paginación por cursor: para la página siguiente se pasa nextCursor "
+            + "en 'after'. No se cuentan resultados, así cualquier página cuesta lo mismo que la primera.")
+    @ApiResponse(responseCode = "200", description = "Página de pedidos")
+    @ApiResponse(responseCode = "400", description = "Filtro, cursor o tamaño de página inválidos")
+    public ResponseEntity<OrderSearchResponse> searchOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) Instant createdAfter,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize + ", got " + limit);
+        }
+        log.info("REST: Received order search (status: {}, userId: {}, createdAfter: {}, limit: {})",
+                status, userId, createdAfter, limit);
+
+        OrderSearch search = new OrderSearch(status, userId != null ? UserId.of(userId) : null, createdAfter);
+        OrderCursor cursor = after != null ? OrderSearchResponse.decodeCursor(after) : null;
+        return ResponseEntity.ok(OrderSearchResponse.fromDomain(searchOrdersUseCase.execute(search, cursor, limit)));
+    }
+
     @GetMapping("/{orderId}")
-    @Operation(summary = "Obtener Pedido", description = "Obtiene los detalles de un pedido por su ID.")
+    @Operation(summary = "Obtener Pedido", description = "Obtiene los detalles de un pedido por su ID. "
+            + "Se sirve desde la proyección de lectura en memoria; puede ir hasta saga.projection.in-flight-ttl "
+            + "por detrás de la base de datos mientras la saga está en curso.")
     @ApiResponse(responseCode = "200", description = "Pedido encontrado")
     @ApiResponse(responseCode = "404", description = "Pedido no encontrado")
     public ResponseEntity<OrderResponse> getOrder(@PathVariable UUID orderId) {
         log.info("REST: Received get order request for orderId: {}", orderId);
 
-        return getOrderUseCase.execute(OrderId.of(orderId))
-                .map(mapper::toResponse)
+        return getOrderViewUseCase.execute(OrderId.of(orderId))
+                .map(OrderResponse::fromView)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Seguir Pedido", description = "Stream SSE con el estado actual del pedido y cada transición de la saga. "
+            + "Se cierra al llegar a un estado terminal.")
+    @ApiResponse(responseCode = "200", description = "Stream de eventos 'status'")
+    @ApiResponse(responseCode = "404", description = "Pedido no encontrado")
+    public ResponseEntity<SseEmitter> streamOrderEvents(@PathVariable UUID orderId) {
+        log.info("REST: Received order events subscription for orderId: {}", orderId);
+
+        return statusStreams.subscribe(OrderId.of(orderId))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,55 @@
+package com.example.saga.order.infrastructure.adapter.input.rest;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.port.input.SearchOrdersUseCase.OrderPage;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderCursor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * DTO de una página de GET /orders.
+ *
+ * El cursor es opaco para el cliente: codifica en Base64 URL-safe el
+ * createdAt y el id de la última orden de la página.
+ */
+@Schema(description = "Página de resultados de la búsqueda de órdenes")
+public record OrderSearchResponse(
+        @Schema(description = "Órdenes de la página, por fecha de creación") List<OrderResponse> orders,
+
+        @Schema(description = "true si hay más órdenes tras esta página") boolean hasMore,
+
+        @Schema(description = "Valor del parámetro 'after' para pedir la página siguiente (null en la última)") String nextCursor) {
+
+    private static final String SEPARATOR = "_";
+
+    public static OrderSearchResponse fromDomain(OrderPage page) {
+        return new OrderSearchResponse(
+                page.orders().stream().map(OrderResponse::fromView).toList(),
+                page.hasMore(),
+                page.hasMore() ? encodeCursor(page.next()) : null);
+    }
+
+    static String encodeCursor(OrderCursor cursor) {
+        String raw = cursor.createdAt() + SEPARATOR + cursor.orderId().value();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException si el cursor no lo generó esta API
+     */
+    static OrderCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new OrderCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    OrderId.of(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
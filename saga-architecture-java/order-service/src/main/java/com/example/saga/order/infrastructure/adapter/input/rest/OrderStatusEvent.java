@@ -0,0 +1,46 @@
+package com.example.saga.order.infrastructure.adapter.input.rest;
+
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de cada evento del stream SSE GET /orders/{orderId}/events.
+ */
+@Schema(description = "Transición de estado de una orden")
+public record OrderStatusEvent(
+        @Schema(description = "ID de la orden") UUID orderId,
+
+        @Schema(description = "Estado anterior (null en el evento inicial)") OrderStatus previousStatus,
+
+        @Schema(description = "Estado actual") OrderStatus status,
+
+        @Schema(description = "Momento de la transición") Instant occurredAt,
+
+        @Schema(description = "Estados recorridos de previousStatus a status, ambos incluidos; con "
+                + "saga.events.coalesce=true un evento puede resumir varias transiciones (null en el evento inicial "
+                + "y en los leídos del almacén)")
+        List<OrderStatus> path) {
+
+    /**
+     * Estado actual de la orden: evento inicial al suscribirse y los cambios
+     * leídos del almacén.
+     */
+    public static OrderStatusEvent snapshotOf(Order order) {
+        return new OrderStatusEvent(order.getId().value(), null, order.getStatus(), order.getUpdatedAt(), null);
+    }
+
+    public static OrderStatusEvent fromDomain(OrderStatusChangedDomainEvent event) {
+        return new OrderStatusEvent(
+                event.orderId().value(),
+                event.previousStatus(),
+                event.newStatus(),
+                event.occurredOn(),
+                event.path());
+    }
+}
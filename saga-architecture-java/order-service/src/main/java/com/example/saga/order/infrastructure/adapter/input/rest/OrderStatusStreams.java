@@ -0,0 +1,225 @@
+package com.example.saga.order.infrastructure.adapter.input.rest;
+
+import com.example.saga.order.application.query.OrderStatusWatcher;
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.input.GetOrderUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streams SSE de estado de orden.
+ *
+ * Cada suscriptor recibe primero el estado actual de la orden y después las
+ * transiciones a medida que hacen commit. El stream se cierra al llegar a un
+ * estado terminal. Dos fuentes alimentan el stream:
+ * - OrderStatusChangedDomainEvent de las transiciones de esta instancia, al
+ *   momento y con su recorrido (path).
+ * - OrderStatusWatcher, que lee el almacén y ve también las transiciones que
+ *   confirma otra instancia (sin path).
+ * Un estado ya enviado, o uno anterior al último enviado, se descarta, así
+ * que la misma transición no llega dos veces.
+ *
+ * Los envíos no se hacen en el hilo que confirma el paso (el consumidor de
+ * Kafka): cada suscripción tiene una cola que se vacía en un ejecutor propio,
+ * de una en una y en orden. Un cliente lento solo retrasa su stream.
+ *
+ * Al parar la aplicación cierra los streams abiertos antes del apagado
+ * ordenado de Tomcat, que si no esperaría a que expiren.
+ */
+@Component
+@Slf4j
+public class OrderStatusStreams implements SmartLifecycle {
+
+    private static final String EVENT_NAME = "status";
+
+    private final GetOrderUseCase getOrderUseCase;
+    private final OrderStatusWatcher watcher;
+    private final long timeoutMs;
+    private final SimpleAsyncTaskExecutor sendExecutor;
+    private final Map<OrderId, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public OrderStatusStreams(GetOrderUseCase getOrderUseCase,
+            OrderStatusWatcher watcher,
+            @Value("${saga.sse.timeout-ms:300000}") long timeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.getOrderUseCase = getOrderUseCase;
+        this.watcher = watcher;
+        this.timeoutMs = timeoutMs;
+        this.sendExecutor = new SimpleAsyncTaskExecutor("sse-");
+        this.sendExecutor.setVirtualThreads(virtualThreads);
+    }
+
+    /**
+     * Abre un stream para la orden, o vacío si la orden no existe.
+     */
+    public Optional<SseEmitter> subscribe(OrderId orderId) {
+        Subscription subscription = new Subscription(new SseEmitter(timeoutMs), sendExecutor);
+        SseEmitter emitter = subscription.emitter;
+        Runnable unwatch = watcher.watch(orderId, order -> subscription.enqueue(OrderStatusEvent.snapshotOf(order)));
+        emitter.onCompletion(() -> remove(orderId, subscription, unwatch));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(orderId, subscription, unwatch));
+
+        // Se registra antes de leer el estado actual para no perder una
+        // transición que haga commit entre medias; el lock garantiza que esa
+        // transición se encola después del estado inicial.
+        subscription.lock.lock();
+        try {
+            subscriptions.computeIfAbsent(orderId, id -> new CopyOnWriteArrayList<>()).add(subscription);
+
+            Optional<Order> current = getOrderUseCase.execute(orderId);
+            if (current.isEmpty()) {
+                remove(orderId, subscription, unwatch);
+                return Optional.empty();
+            }
+            subscription.enqueue(OrderStatusEvent.snapshotOf(current.get()));
+            return Optional.of(emitter);
+        } finally {
+            subscription.lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChanged(OrderStatusChangedDomainEvent event) {
+        List<Subscription> subscribers = subscriptions.get(event.orderId());
+        if (subscribers == null) {
+            return;
+        }
+        OrderStatusEvent payload = OrderStatusEvent.fromDomain(event);
+        subscribers.forEach(subscription -> {
+            // Solo encola: el envío se hace en sendExecutor
+            subscription.lock.lock();
+            try {
+                subscription.enqueue(payload);
+            } finally {
+                subscription.lock.unlock();
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        subscriptions.values().forEach(subscribers -> subscribers.forEach(Subscription::close));
+        subscriptions.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void remove(OrderId orderId, Subscription subscription, Runnable unwatch) {
+        unwatch.run();
+        subscriptions.computeIfPresent(orderId, (id, subscribers) -> {
+            subscribers.remove(subscription);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+        private final Executor executor;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<OrderStatusEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Solo los toca el hilo que vacía la cola (uno cada vez)
+        private OrderStatus lastStatus;
+        private Instant lastAt;
+        private volatile boolean closed;
+
+        private Subscription(SseEmitter emitter, Executor executor) {
+            this.emitter = emitter;
+            this.executor = executor;
+        }
+
+        private void enqueue(OrderStatusEvent event) {
+            if (closed) {
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                OrderStatusEvent event;
+                while ((event = pending.poll()) != null) {
+                    send(event);
+                }
+            } finally {
+                draining.set(false);
+                if (!pending.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    emitter.complete();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void send(OrderStatusEvent event) {
+            if (closed || event.status() == lastStatus
+                    || (lastAt != null && event.occurredAt().isBefore(lastAt))) {
+                return;
+            }
+            lastStatus = event.status();
+            lastAt = event.occurredAt();
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(event));
+                if (event.status().isTerminal()) {
+                    close();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado: el contenedor notifica onError/onCompletion
+                log.debug("SSE: cannot send status for order {}: {}", event.orderId(), e.getMessage());
+                closed = true;
+            }
+        }
+    }
+}
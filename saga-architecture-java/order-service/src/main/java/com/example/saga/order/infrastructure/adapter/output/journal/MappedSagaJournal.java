@@ -0,0 +1,247 @@
+package com.example.saga.order.infrastructure.adapter.output.journal;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.port.output.SagaJournal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de la saga en ficheros memory-mapped (saga.journal.enabled=true).
+ *
+ * El diario se divide en segmentos de tamaño fijo (journal-NNN.log) que se
+ * mapean enteros en memoria; escribir una entrada es copiar 29 bytes al
+ * buffer, sin llamadas al sistema. Cada segmento empieza por un número
+ * mágico y cada registro es:
+ * - tipo (1 byte, ordinal + 1; 0 = fin del segmento)
+ * - orderId (16 bytes)
+ * - instante en milisegundos (8 bytes)
+ * - CRC32 de los 25 bytes anteriores (4 bytes)
+ *
+ * Los datos sobreviven a la caída del proceso (están en la caché de páginas
+ * del sistema operativo), no necesariamente a la de la máquina: los
+ * segmentos solo se fuerzan a disco al rotar y al parar. Al leer, un
+ * registro con el CRC incorrecto (escritura a medias) termina ese segmento.
+ *
+ * Al arrancar siempre se abre un segmento nuevo; los anteriores solo se leen
+ * (replay) y se borran al compactar. Los segmentos cerrados durante la
+ * ejecución se borran al rotar cuando superan saga.journal.retention. Cada
+ * instancia necesita su propio directorio: el de por defecto incluye el
+ * puerto HTTP, y si otra instancia ya usa el mismo, crear el segmento nuevo
+ * falla al arrancar.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "saga.journal.enabled", havingValue = "true")
+public class MappedSagaJournal implements SagaJournal {
+
+    private static final int MAGIC = 0x534A4E31; // "SJN1"
+    private static final int PAYLOAD_SIZE = 1 + 16 + 8;
+    static final int RECORD_SIZE = PAYLOAD_SIZE + 4;
+    static final int HEADER_SIZE = 4;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-\\d{20}\\.log");
+
+    private static final Type[] TYPES = Type.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration retention;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Path> previousSegments;
+    private final Deque<ClosedSegment> closedSegments = new ArrayDeque<>();
+
+    private long nextSegment;
+    private Path currentPath;
+    private MappedByteBuffer current;
+
+    public MappedSagaJournal(
+            @Value("${saga.journal.dir:data/saga-journal-${server.port:8080}}") String directory,
+            @Value("${saga.journal.segment-size:16MB}") DataSize segmentSize,
+            @Value("${saga.journal.retention:PT1H}") Duration retention) throws IOException {
+        if (segmentSize.toBytes() < HEADER_SIZE + RECORD_SIZE || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Saga journal segment size out of range: " + segmentSize);
+        }
+        this.directory = Path.of(directory);
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.retention = retention;
+
+        Files.createDirectories(this.directory);
+        this.previousSegments = listSegments();
+        this.nextSegment = previousSegments.isEmpty()
+                ? 0
+                : sequenceOf(previousSegments.get(previousSegments.size() - 1)) + 1;
+        openSegment();
+        log.info("Saga journal opened in {} ({} previous segments)", this.directory, previousSegments.size());
+    }
+
+    @Override
+    public void append(Entry entry) {
+        lock.lock();
+        try {
+            if (current.remaining() < RECORD_SIZE) {
+                roll();
+            }
+            write(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void replay(Consumer<Entry> visitor) {
+        for (Path segment : previousSegments) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                readSegment(segment, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), visitor);
+            } catch (IOException e) {
+                log.warn("Saga journal segment {} could not be read: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void compact(Collection<Entry> live) {
+        lock.lock();
+        try {
+            for (Entry entry : live) {
+                if (current.remaining() < RECORD_SIZE) {
+                    roll();
+                }
+                write(entry);
+            }
+            current.force();
+        } finally {
+            lock.unlock();
+        }
+
+        // Las entradas vivas ya están en el segmento actual
+        previousSegments.forEach(this::delete);
+        previousSegments.clear();
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            current.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== SEGMENTOS ====================
+
+    private void write(Entry entry) {
+        int start = current.position();
+        UUID orderId = entry.orderId().value();
+        current.put((byte) (entry.type().ordinal() + 1))
+                .putLong(orderId.getMostSignificantBits())
+                .putLong(orderId.getLeastSignificantBits())
+                .putLong(entry.at().toEpochMilli());
+        current.putInt(checksum(current, start));
+    }
+
+    private void readSegment(Path segment, MappedByteBuffer buffer, Consumer<Entry> visitor) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            log.warn("Saga journal segment {} has no valid header, skipping", segment);
+            return;
+        }
+        while (buffer.remaining() >= RECORD_SIZE) {
+            int start = buffer.position();
+            int code = buffer.get();
+            if (code == 0) {
+                return;
+            }
+            long most = buffer.getLong();
+            long least = buffer.getLong();
+            long millis = buffer.getLong();
+            int expected = checksum(buffer, start);
+            if (buffer.getInt() != expected || code < 0 || code > TYPES.length) {
+                log.warn("Saga journal segment {} is corrupt at offset {}, ignoring the rest of it", segment, start);
+                return;
+            }
+            visitor.accept(new Entry(TYPES[code - 1], OrderId.of(new UUID(most, least)), Instant.ofEpochMilli(millis)));
+        }
+    }
+
+    private void roll() {
+        current.force();
+        closedSegments.add(new ClosedSegment(currentPath, Instant.now()));
+        openSegment();
+
+        Instant expired = Instant.now().minus(retention);
+        while (!closedSegments.isEmpty() && closedSegments.peekFirst().closedAt().isBefore(expired)) {
+            delete(closedSegments.pollFirst().path());
+        }
+    }
+
+    private void openSegment() {
+        Path path = directory.resolve(SEGMENT_PREFIX + "%020d".formatted(nextSegment++) + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            current = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create saga journal segment " + path, e);
+        }
+        current.putInt(MAGIC);
+        currentPath = path;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            log.warn("Saga journal segment {} could not be deleted: {}", segment, e.getMessage());
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int start) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start, PAYLOAD_SIZE));
+        return (int) crc.getValue();
+    }
+
+    private record ClosedSegment(Path path, Instant closedAt) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.saga.order.infrastructure.adapter.output.journal;
+
+import com.example.saga.order.domain.port.output.SagaJournal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Diario desactivado (saga.journal.enabled=false): no guarda nada y la
+ * recuperación tras una caída depende solo de saga_deadline.
+ */
+@Component
+@ConditionalOnProperty(name = "saga.journal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpSagaJournal implements SagaJournal {
+
+    @Override
+    public void append(Entry entry) {
+    }
+
+    @Override
+    public void replay(Consumer<Entry> visitor) {
+    }
+
+    @Override
+    public void compact(Collection<Entry> live) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.saga.order.infrastructure.adapter.output.messaging;
+
+import com.example.saga.order.domain.event.DomainEvent;
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.port.output.DomainEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Decorador del puerto DomainEventPublisher (saga.events.coalesce=true).
+ *
+ * Un paso de la saga suele encadenar varias transiciones de la misma orden
+ * (PAYMENT_FAILED y CANCELLED, PAYMENT_COMPLETED e INVENTORY_PENDING...).
+ * Antes de publicar, publishAll las pliega en un único
+ * OrderStatusChangedDomainEvent con el recorrido completo en
+ * intermediateStatuses: los listeners reciben un evento por paso en lugar de
+ * uno por transición.
+ *
+ * Solo afecta a la publicación. El agregado sigue registrando cada
+ * transición y el almacén de eventos las guarda todas.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CoalescingDomainEventPublisher implements DomainEventPublisher {
+
+    private final DomainEventPublisher delegate;
+
+    @Override
+    public void publish(DomainEvent event) {
+        delegate.publish(event);
+    }
+
+    @Override
+    public void publishAll(List<DomainEvent> events) {
+        List<DomainEvent> coalesced = OrderStatusChangedDomainEvent.coalesce(events);
+        if (coalesced.size() < events.size()) {
+            log.debug("Coalesced {} domain events into {}", events.size(), coalesced.size());
+        }
+        delegate.publishAll(coalesced);
+    }
+}
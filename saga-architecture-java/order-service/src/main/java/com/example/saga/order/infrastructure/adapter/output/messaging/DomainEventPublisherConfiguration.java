@@ -0,0 +1,33 @@
+package com.example.saga.order.infrastructure.adapter.output.messaging;
+
+import com.example.saga.order.domain.port.output.DomainEventPublisher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuración del puerto DomainEventPublisher.
+ *
+ * saga.outbox.enabled elige el publicador, registrado con el nombre
+ * {@link #EVENT_PUBLISHER}:
+ * - true (por defecto): outbox transaccional (OutboxDomainEventPublisher).
+ * - false: envío directo con StreamBridge (KafkaDomainEventPublisher).
+ *
+ * Con saga.events.coalesce=true el publicador queda detrás de
+ * CoalescingDomainEventPublisher.
+ */
+@Configuration
+public class DomainEventPublisherConfiguration {
+
+    public static final String EVENT_PUBLISHER = "domainEventPublisher";
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "saga.events.coalesce", havingValue = "true")
+    public CoalescingDomainEventPublisher coalescingDomainEventPublisher(
+            @Qualifier(EVENT_PUBLISHER) DomainEventPublisher eventPublisher) {
+        return new CoalescingDomainEventPublisher(eventPublisher);
+    }
+}
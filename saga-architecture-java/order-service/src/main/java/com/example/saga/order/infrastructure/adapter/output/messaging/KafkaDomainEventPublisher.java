@@ -8,16 +8,22 @@ import com.example.saga.common.OrderRequestDTO;
 import com.example.saga.common.OrderStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
  * Adaptador que implementa la publicación de eventos de dominio a Kafka.
  * Convierte eventos de dominio a eventos de integración para consumidores
  * externos usando MapStruct.
+ *
+ * Solo se activa con saga.outbox.enabled=false; por defecto los eventos
+ * pasan por el outbox transaccional.
  */
-@Component
+@Component(DomainEventPublisherConfiguration.EVENT_PUBLISHER)
 @Slf4j
+@ConditionalOnProperty(name = "saga.outbox.enabled", havingValue = "false")
 @RequiredArgsConstructor
 public class KafkaDomainEventPublisher implements DomainEventPublisher {
 
@@ -25,11 +31,15 @@ public class KafkaDomainEventPublisher implements DomainEventPublisher {
 
     private final StreamBridge streamBridge;
     private final OrderIntegrationMapper mapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     public void publish(DomainEvent event) {
         log.debug("Publishing domain event: {}", event.eventType());
 
+        // Listeners en proceso (p. ej. inicio de saga tras el commit)
+        applicationEventPublisher.publishEvent(event);
+
         if (event instanceof OrderCreatedDomainEvent orderCreated) {
             publishOrderCreatedEvent(orderCreated);
         } else {
@@ -44,6 +54,7 @@ public class KafkaDomainEventPublisher implements DomainEventPublisher {
         OrderEvent integrationEvent = new OrderEvent(orderRequest, OrderStatus.ORDER_CREATED);
 
         log.info("Publishing OrderCreated integration event for orderId: {}", domainEvent.orderId());
-        streamBridge.send(ORDER_EVENTS_OUT, integrationEvent);
+        streamBridge.send(ORDER_EVENTS_OUT,
+                SagaMessages.keyedByOrder(integrationEvent, domainEvent.orderId().value()));
     }
 }
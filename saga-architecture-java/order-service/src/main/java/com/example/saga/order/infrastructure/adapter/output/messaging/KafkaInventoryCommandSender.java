@@ -27,7 +27,8 @@ public class KafkaInventoryCommandSender implements InventoryCommandSender {
 
         InventoryRequestDTO inventoryRequest = mapper.toInventoryRequest(command);
 
-        streamBridge.send(INVENTORY_COMMANDS_OUT, inventoryRequest);
+        streamBridge.send(INVENTORY_COMMANDS_OUT,
+                SagaMessages.keyedByOrder(inventoryRequest, command.orderId().value()));
         log.debug("Inventory reservation command sent successfully");
     }
 
@@ -43,7 +44,8 @@ public class KafkaInventoryCommandSender implements InventoryCommandSender {
                 command.orderId().value());
 
         // En un caso real, enviaríamos a un topic específico como "inventory-release"
-        streamBridge.send(INVENTORY_COMMANDS_OUT, releaseRequest);
+        streamBridge.send(INVENTORY_COMMANDS_OUT,
+                SagaMessages.keyedByOrder(releaseRequest, command.orderId().value()));
         log.debug("Inventory release command sent successfully");
     }
 }
@@ -27,7 +27,8 @@ public class KafkaPaymentCommandSender implements PaymentCommandSender {
 
         PaymentRequestDTO paymentRequest = mapper.toPaymentRequest(command);
 
-        streamBridge.send(PAYMENT_COMMANDS_OUT, paymentRequest);
+        streamBridge.send(PAYMENT_COMMANDS_OUT,
+                SagaMessages.keyedByOrder(paymentRequest, command.orderId().value()));
         log.debug("Payment command sent successfully");
     }
 
@@ -37,7 +38,8 @@ public class KafkaPaymentCommandSender implements PaymentCommandSender {
 
         PaymentRequestDTO refundRequest = mapper.toRefundRequest(command);
 
-        streamBridge.send(PAYMENT_COMMANDS_OUT, refundRequest);
+        streamBridge.send(PAYMENT_COMMANDS_OUT,
+                SagaMessages.keyedByOrder(refundRequest, command.orderId().value()));
         log.debug("Refund command sent successfully");
     }
 }
@@ -24,20 +24,20 @@ public interface OrderIntegrationMapper {
     @Mapping(target = "orderId", source = "orderId", qualifiedByName = "mapOrderId")
     @Mapping(target = "userId", source = "userId", qualifiedByName = "mapUserIdToInt")
     @Mapping(target = "productId", source = "productId", qualifiedByName = "mapProductIdToInt")
-    @Mapping(target = "amount", source = "amount", qualifiedByName = "mapMoneyToDouble")
+    @Mapping(target = "amountCents", source = "amount", qualifiedByName = "mapMoneyToCents")
     OrderRequestDTO toOrderRequest(OrderCreatedDomainEvent event);
 
     // Commands -> Integration DTOs
     @Mapping(target = "orderId", source = "orderId", qualifiedByName = "mapOrderId")
     @Mapping(target = "userId", source = "userId", qualifiedByName = "mapUserIdToInt")
     @Mapping(target = "productId", source = "productId", qualifiedByName = "mapProductIdToInt")
-    @Mapping(target = "amount", source = "amount", qualifiedByName = "mapMoneyToDouble")
+    @Mapping(target = "amountCents", source = "amount", qualifiedByName = "mapMoneyToCents")
     PaymentRequestDTO toPaymentRequest(ProcessPaymentCommand command);
 
     @Mapping(target = "orderId", source = "orderId", qualifiedByName = "mapOrderId")
     @Mapping(target = "userId", source = "userId", qualifiedByName = "mapUserIdToInt")
     @Mapping(target = "productId", constant = "0")
-    @Mapping(target = "amount", constant = "0.0")
+    @Mapping(target = "amountCents", constant = "0L")
     PaymentRequestDTO toRefundRequest(RefundPaymentCommand command);
 
     @Mapping(target = "orderId", source = "orderId", qualifiedByName = "mapOrderId")
@@ -61,8 +61,8 @@ public interface OrderIntegrationMapper {
         return value != null ? value.value() : null;
     }
 
-    @Named("mapMoneyToDouble")
-    default Double mapMoneyToDouble(Money value) {
-        return value != null ? value.toDouble() : null;
+    @Named("mapMoneyToCents")
+    default Long mapMoneyToCents(Money value) {
+        return value != null ? value.cents() : null;
     }
 }
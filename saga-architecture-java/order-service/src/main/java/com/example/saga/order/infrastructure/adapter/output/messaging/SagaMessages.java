@@ -0,0 +1,25 @@
+package com.example.saga.order.infrastructure.adapter.output.messaging;
+
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Construcción de mensajes de la saga con el orderId como clave de Kafka.
+ * Todos los mensajes de una misma orden caen en la misma partición y se
+ * procesan en orden; órdenes distintas se reparten entre particiones.
+ */
+final class SagaMessages {
+
+    private SagaMessages() {
+    }
+
+    static <T> Message<T> keyedByOrder(T payload, UUID orderId) {
+        return MessageBuilder.withPayload(payload)
+                .setHeader(KafkaHeaders.KEY, orderId.toString().getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.saga.order.infrastructure.adapter.output.outbox;
+
+import com.example.saga.common.OrderEvent;
+import com.example.saga.common.OrderRequestDTO;
+import com.example.saga.common.OrderStatus;
+import com.example.saga.order.domain.event.DomainEvent;
+import com.example.saga.order.domain.event.OrderCreatedDomainEvent;
+import com.example.saga.order.domain.port.output.DomainEventPublisher;
+import com.example.saga.order.infrastructure.adapter.output.messaging.DomainEventPublisherConfiguration;
+import com.example.saga.order.infrastructure.adapter.output.messaging.OrderIntegrationMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptador que implementa la publicación de eventos de dominio mediante
+ * el patrón Transactional Outbox.
+ *
+ * En lugar de enviar a Kafka dentro de la transacción, el evento de
+ * integración se serializa y se inserta en la tabla outbox_event en la misma
+ * transacción que la orden. El {@link OutboxRelay} lo envía después.
+ * Por tanto, debe invocarse siempre dentro de una transacción.
+ *
+ * publishAll inserta todas las filas con un INSERT por lotes JDBC: la clave
+ * IDENTITY de outbox_event impide que Hibernate agrupe las inserciones.
+ */
+@Component(DomainEventPublisherConfiguration.EVENT_PUBLISHER)
+@Slf4j
+@ConditionalOnProperty(name = "saga.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDomainEventPublisher implements DomainEventPublisher {
+
+    private final OutboxEventJpaRepository outboxRepository;
+    private final OrderIntegrationMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final String orderEventsTopic;
+    private final int batchSize;
+
+    public OutboxDomainEventPublisher(OutboxEventJpaRepository outboxRepository,
+            OrderIntegrationMapper mapper,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher applicationEventPublisher,
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.cloud.stream.bindings.order-events-out-0.destination}") String orderEventsTopic,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderEventsTopic = orderEventsTopic;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        log.debug("Storing domain event in outbox: {}", event.eventType());
+
+        // Listeners en proceso (p. ej. inicio de saga tras el commit)
+        applicationEventPublisher.publishEvent(event);
+
+        if (event instanceof OrderCreatedDomainEvent orderCreated) {
+            storeOrderCreatedEvent(orderCreated);
+        } else {
+            log.debug("Event type {} not handled for external publishing", event.eventType());
+        }
+    }
+
+    @Override
+    public void publishAll(List<DomainEvent> events) {
+        List<OutboxEventJpaEntity> outboxEvents = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            applicationEventPublisher.publishEvent(event);
+            if (event instanceof OrderCreatedDomainEvent orderCreated) {
+                outboxEvents.add(toOutboxEvent(orderCreated));
+            }
+        }
+        if (outboxEvents.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_event (aggregate_id, event_type, destination, payload, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                outboxEvents, batchSize, (ps, outboxEvent) -> {
+                    ps.setObject(1, outboxEvent.getAggregateId());
+                    ps.setString(2, outboxEvent.getEventType());
+                    ps.setString(3, outboxEvent.getDestination());
+                    ps.setString(4, outboxEvent.getPayload());
+                    ps.setObject(5, outboxEvent.getCreatedAt().atOffset(ZoneOffset.UTC));
+                });
+        log.info("{} OrderCreated integration events stored in outbox", outboxEvents.size());
+    }
+
+    private void storeOrderCreatedEvent(OrderCreatedDomainEvent domainEvent) {
+        outboxRepository.save(toOutboxEvent(domainEvent));
+        log.info("OrderCreated integration event stored in outbox for orderId: {}", domainEvent.orderId());
+    }
+
+    private OutboxEventJpaEntity toOutboxEvent(OrderCreatedDomainEvent domainEvent) {
+        OrderRequestDTO orderRequest = mapper.toOrderRequest(domainEvent);
+        OrderEvent integrationEvent = new OrderEvent(orderRequest, OrderStatus.ORDER_CREATED);
+
+        return new OutboxEventJpaEntity(
+                domainEvent.orderId().value(),
+                domainEvent.eventType(),
+                orderEventsTopic,
+                serialize(integrationEvent),
+                Instant.now());
+    }
+
+    private String serialize(Object integrationEvent) {
+        try {
+            return objectMapper.writeValueAsString(integrationEvent);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize integration event " + integrationEvent, e);
+        }
+    }
+}
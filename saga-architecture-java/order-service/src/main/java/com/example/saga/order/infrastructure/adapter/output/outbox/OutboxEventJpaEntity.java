@@ -0,0 +1,53 @@
+package com.example.saga.order.infrastructure.adapter.output.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entidad JPA de la tabla outbox.
+ * Cada fila es un evento de integración ya serializado, pendiente de ser
+ * enviado a Kafka por el {@link OutboxRelay}.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEventJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String destination;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    public OutboxEventJpaEntity(UUID aggregateId, String eventType, String destination, String payload,
+            Instant createdAt) {
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.destination = destination;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.saga.order.infrastructure.adapter.output.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio JPA Spring Data para la tabla outbox.
+ */
+public interface OutboxEventJpaRepository extends JpaRepository<OutboxEventJpaEntity, Long> {
+
+    /**
+     * Reclama el siguiente lote de eventos pendientes, en orden de inserción.
+     * Las filas quedan bloqueadas hasta el fin de la transacción y las que ya
+     * tiene otra instancia se saltan, así que cada evento lo envía un solo relay.
+     */
+    @Query(value = "select * from outbox_event where published_at is null order by id limit :limit "
+            + "for update skip locked", nativeQuery = true)
+    List<OutboxEventJpaEntity> claimPending(@Param("limit") int limit);
+
+    /**
+     * Marca un lote de eventos como publicados con un único UPDATE.
+     */
+    @Transactional
+    @Modifying
+    @Query("update OutboxEventJpaEntity e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    /**
+     * Elimina los eventos ya publicados anteriores a la fecha indicada.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEventJpaEntity e where e.publishedAt < :threshold")
+    int deletePublishedBefore(@Param("threshold") Instant threshold);
+}
@@ -0,0 +1,147 @@
+package com.example.saga.order.infrastructure.adapter.output.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relay del outbox: drena la tabla outbox_event en lotes y envía los eventos
+ * a Kafka fuera de la transacción de negocio.
+ *
+ * Los envíos de un lote se lanzan todos a la vez (el productor Kafka los
+ * agrupa y los canaliza) y solo después se esperan las confirmaciones. Las
+ * filas confirmadas se marcan como publicadas con un único UPDATE.
+ *
+ * Clave y payload se envían como bytes, igual que los serializadores que el
+ * binder de Spring Cloud Stream configura para el productor por defecto.
+ *
+ * Con varias instancias cada lote se reclama con SELECT … FOR UPDATE SKIP
+ * LOCKED en una transacción que dura hasta marcarlo: otra instancia se salta
+ * esas filas y toma las siguientes, en lugar de enviar los mismos eventos.
+ * Si la instancia cae a mitad de lote, la transacción se deshace y las filas
+ * vuelven a quedar libres.
+ *
+ * Garantía: at-least-once. Si el envío de un evento falla, ni ese evento ni
+ * los posteriores del lote se marcan, de modo que se reintentan en orden en
+ * el siguiente ciclo.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "saga.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventJpaRepository outboxRepository;
+    private final KafkaTemplate<byte[], byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxEventJpaRepository outboxRepository,
+            KafkaTemplate<byte[], byte[]> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${saga.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${saga.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${saga.outbox.retention:PT1H}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retention = retention;
+    }
+
+    /**
+     * Drena el outbox mientras haya lotes completos pendientes.
+     */
+    @Scheduled(fixedDelayString = "${saga.outbox.relay.interval-ms:100}")
+    public void relay() {
+        boolean more;
+        do {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+        } while (more);
+    }
+
+    /**
+     * Reclama, envía y marca un lote en una sola transacción.
+     *
+     * @return true si el lote estaba completo y se envió entero
+     */
+    private boolean relayBatch() {
+        List<OutboxEventJpaEntity> batch = outboxRepository.claimPending(batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        List<Long> publishedIds = sendBatch(batch);
+        if (!publishedIds.isEmpty()) {
+            outboxRepository.markPublished(publishedIds, Instant.now());
+            log.debug("Outbox: {} events relayed to Kafka", publishedIds.size());
+        }
+        // Si falta alguno, el resto se reintenta en el siguiente ciclo
+        return publishedIds.size() == batchSize;
+    }
+
+    /**
+     * Purga periódica de los eventos ya publicados.
+     */
+    @Scheduled(fixedDelayString = "${saga.outbox.cleanup-interval-ms:60000}")
+    public void purgePublished() {
+        int deleted = outboxRepository.deletePublishedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("Outbox: {} published events purged", deleted);
+        }
+    }
+
+    private CompletableFuture<SendResult<byte[], byte[]>> send(OutboxEventJpaEntity event) {
+        try {
+            return kafkaTemplate.send(
+                    event.getDestination(),
+                    event.getAggregateId().toString().getBytes(StandardCharsets.UTF_8),
+                    event.getPayload().getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<Long> sendBatch(List<OutboxEventJpaEntity> batch) {
+        // 1. Lanzar todos los envíos sin esperar (pipelining)
+        List<CompletableFuture<SendResult<byte[], byte[]>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEventJpaEntity event : batch) {
+            futures.add(send(event));
+        }
+
+        // 2. Esperar confirmaciones; solo el prefijo confirmado se marca como publicado
+        List<Long> publishedIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEventJpaEntity event = batch.get(i);
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                publishedIds.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Outbox: failed to relay event {} for aggregate {}, will retry",
+                        event.getId(), event.getAggregateId(), e);
+                break;
+            }
+        }
+        return publishedIds;
+    }
+}
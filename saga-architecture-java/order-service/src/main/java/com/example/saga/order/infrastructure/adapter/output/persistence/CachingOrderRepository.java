@@ -0,0 +1,271 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorador write-through del puerto OrderRepository.
+ *
+ * Mantiene en memoria las órdenes con saga en curso para que cada paso del
+ * orquestador no tenga que releer la fila que el paso anterior acaba de
+ * escribir.
+ *
+ * - Acotada: LRU con un tamaño máximo configurable.
+ * - Write-through: toda escritura va a la base de datos; la caché solo se
+ *   actualiza tras el commit (y se invalida si la transacción hace rollback).
+ * - Solo se cachea lo que esta instancia escribe. Una lectura que falla no
+ *   se guarda: la fila leída puede ser anterior a un commit concurrente (otro
+ *   paso que acaba de terminar la saga y ya expulsó la orden) y quedaría en
+ *   caché una copia en curso obsoleta. El paso que la lee la guarda después.
+ * - Las órdenes en estado terminal se expulsan: su saga ya no tiene más pasos.
+ * - Se guardan y devuelven copias, nunca la instancia que muta el llamante.
+ * - Un conflicto de versión (otra instancia modificó la orden) invalida la
+ *   entrada para que el reintento relea la orden.
+ */
+@Slf4j
+public class CachingOrderRepository implements OrderRepository {
+
+    private static final String CACHE_NAME = "orders";
+
+    private final OrderRepository delegate;
+    private final int maxSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<OrderId, Order> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachingOrderRepository(OrderRepository delegate, int maxSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<OrderId, Order> eldest) {
+                if (size() > CachingOrderRepository.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        registerMetrics(meterRegistry);
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved;
+        try {
+            saved = delegate.save(order);
+        } catch (ConcurrentOrderModificationException e) {
+            // La copia en caché está obsoleta: el reintento debe leer la base de datos
+            evict(e.getOrderId());
+            throw e;
+        }
+        afterCommit(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved;
+        try {
+            saved = delegate.saveAll(orders);
+        } catch (ConcurrentOrderModificationException e) {
+            evict(e.getOrderId());
+            throw e;
+        }
+        afterCommit(saved);
+        return saved;
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        delegate.insertAll(orders);
+        afterCommit(orders.stream().map(CachingOrderRepository::copyOf).toList());
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        Order cached = get(orderId);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return Optional.of(copyOf(cached));
+        }
+
+        misses.incrementAndGet();
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        List<Order> result = new ArrayList<>(orderIds.size());
+        List<OrderId> missing = new ArrayList<>();
+        for (OrderId orderId : orderIds) {
+            Order cached = get(orderId);
+            if (cached != null) {
+                result.add(copyOf(cached));
+            } else {
+                missing.add(orderId);
+            }
+        }
+        hits.addAndGet(result.size());
+        misses.addAndGet(missing.size());
+
+        if (!missing.isEmpty()) {
+            result.addAll(delegate.findAllById(missing));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Order> findAllByIdFromStore(Collection<OrderId> orderIds) {
+        return delegate.findAllByIdFromStore(orderIds);
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return get(orderId) != null || delegate.existsById(orderId);
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        // Agregado sobre toda la tabla: no se puede responder desde la caché
+        return delegate.countByStatus();
+    }
+
+    @Override
+    public List<Order> search(OrderSearch search, OrderCursor after, int limit) {
+        // Consulta por filtros sobre toda la tabla: no pasa por la caché
+        return delegate.search(search, after, limit);
+    }
+
+    /**
+     * Invalida una entrada (p. ej. tras un conflicto de concurrencia).
+     */
+    public void evict(OrderId orderId) {
+        lock.lock();
+        try {
+            cache.remove(orderId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vacía la caché (p. ej. al ceder particiones a otra instancia, que a
+     * partir de entonces puede modificar esas órdenes).
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            cache.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void afterCommit(List<Order> orders) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            orders.forEach(this::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orders.forEach(CachingOrderRepository.this::put);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    orders.forEach(order -> evict(order.getId()));
+                }
+            }
+        });
+    }
+
+    private Order get(OrderId orderId) {
+        lock.lock();
+        try {
+            return cache.get(orderId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(Order order) {
+        lock.lock();
+        try {
+            if (order.getStatus().isTerminal()) {
+                if (cache.remove(order.getId()) != null) {
+                    evictions.incrementAndGet();
+                }
+            } else {
+                cache.put(order.getId(), copyOf(order));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Order copyOf(Order order) {
+        return Order.reconstitute(
+                order.getId(),
+                order.getUserId(),
+                order.getProductId(),
+                order.getPrice(),
+                order.getStatus(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                order.getVersion());
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Lecturas de órdenes servidas desde la caché")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Lecturas de órdenes que fueron a la base de datos")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .description("Órdenes expulsadas por tamaño o por llegar a estado terminal")
+                .register(registry);
+        Gauge.builder("cache.size", this, CachingOrderRepository::size)
+                .tag("cache", CACHE_NAME)
+                .description("Órdenes en curso en la caché")
+                .register(registry);
+    }
+}
@@ -0,0 +1,470 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.event.DomainEvent;
+import com.example.saga.order.domain.event.OrderCreatedDomainEvent;
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
+import com.example.saga.order.domain.exception.OrderNotFoundException;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementación event-sourced del puerto OrderRepository
+ * (saga.persistence.store=events).
+ *
+ * No sobrescribe filas: cada save añade a order_event los eventos de dominio
+ * pendientes de la orden, numerados a continuación de su versión. La versión
+ * de una orden es el número de secuencia de su último evento, y la clave
+ * (order_id, sequence_number) hace de bloqueo optimista: si dos procesos
+ * parten de la misma versión, el segundo choca con la clave y recibe
+ * ConcurrentOrderModificationException. Antes de añadir se comprueba en una
+ * sola consulta que las órdenes existen y siguen en la versión leída.
+ *
+ * Las lecturas reproducen los eventos a partir de la última instantánea de
+ * order_snapshot, que se reescribe cada saga.persistence.snapshot-every
+ * eventos: ninguna lectura reproduce más de ese número de eventos. El
+ * historial completo se conserva en order_event.
+ *
+ * La búsqueda paginada recorre los eventos de creación (secuencia 0) por el
+ * índice (sequence_number, occurred_at, order_id) y toma el estado del último
+ * evento de cada orden.
+ */
+@Repository(OrderRepositoryConfiguration.ORDER_STORE)
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "saga.persistence.store", havingValue = "events")
+public class EventSourcedOrderRepository implements OrderRepository {
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO order_event (order_id, sequence_number, event_id, event_type, previous_status, order_status, "
+                    + "user_id, product_id, price_cents, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SNAPSHOT_SQL =
+            "INSERT INTO order_snapshot (order_id, version, user_id, product_id, price_cents, order_status, created_at, "
+                    + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SNAPSHOT_SQL =
+            "UPDATE order_snapshot SET version = ?, order_status = ?, updated_at = ? WHERE order_id = ?";
+
+    // Eventos posteriores a la instantánea, con la instantánea en cada fila:
+    // una sola sentencia, así la base y los eventos son coherentes entre sí
+    private static final String SELECT_EVENTS_SQL =
+            "SELECT e.order_id, e.sequence_number, e.order_status, e.user_id, e.product_id, e.price_cents, e.occurred_at, "
+                    + "s.version AS s_version, s.user_id AS s_user_id, s.product_id AS s_product_id, "
+                    + "s.price_cents AS s_price_cents, s.order_status AS s_order_status, s.created_at AS s_created_at, "
+                    + "s.updated_at AS s_updated_at "
+                    + "FROM order_event e LEFT JOIN order_snapshot s ON s.order_id = e.order_id "
+                    + "WHERE e.order_id IN (%s) AND e.sequence_number > COALESCE(s.version, -1) "
+                    + "ORDER BY e.order_id, e.sequence_number";
+
+    private static final String SELECT_SNAPSHOTS_SQL =
+            "SELECT order_id, version, user_id, product_id, price_cents, order_status, created_at, updated_at "
+                    + "FROM order_snapshot WHERE order_id IN (%s)";
+
+    private static final String SELECT_VERSIONS_SQL =
+            "SELECT order_id, MAX(sequence_number) FROM order_event WHERE order_id IN (%s) GROUP BY order_id";
+
+    private static final String SELECT_EVENT_ID_SQL =
+            "SELECT event_id FROM order_event WHERE order_id = ? AND sequence_number = ?";
+
+    private static final String EXISTS_SQL =
+            "SELECT COUNT(*) FROM order_event WHERE order_id = ? AND sequence_number = 0";
+
+    // El estado actual de cada orden es el de su último evento
+    private static final String COUNT_BY_STATUS_SQL =
+            "SELECT e.order_status, COUNT(*) FROM order_event e WHERE e.sequence_number = "
+                    + "(SELECT MAX(m.sequence_number) FROM order_event m WHERE m.order_id = e.order_id) "
+                    + "GROUP BY e.order_status";
+
+    // Órdenes para la búsqueda: datos fijos del evento de creación (secuencia 0)
+    // y estado y versión del último evento
+    private static final String SEARCH_SQL =
+            "SELECT c.user_id, c.product_id, c.price_cents, c.occurred_at AS created_at, c.order_id, "
+                    + "l.order_status, l.occurred_at AS updated_at, l.sequence_number AS version "
+                    + "FROM order_event c JOIN order_event l ON l.order_id = c.order_id "
+                    + "WHERE c.sequence_number = 0 AND l.sequence_number = "
+                    + "(SELECT MAX(m.sequence_number) FROM order_event m WHERE m.order_id = c.order_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    @Value("${saga.persistence.snapshot-every:5}")
+    private int snapshotEvery;
+
+    @Override
+    public Order save(Order order) {
+        log.debug("Appending events of order: {}", order.getId());
+
+        return append(List.of(order)).get(0);
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        log.debug("Appending events of {} orders", orders.size());
+
+        return append(orders);
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        log.debug("Appending events of {} new orders", orders.size());
+
+        append(orders);
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        log.debug("Replaying order: {}", orderId);
+
+        return findAllById(List.of(orderId)).stream().findFirst();
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        log.debug("Replaying {} orders", orderIds.size());
+
+        List<UUID> ids = orderIds.stream()
+                .map(OrderId::value)
+                .distinct()
+                .toList();
+
+        Map<UUID, OrderState> states = new LinkedHashMap<>();
+        for (List<UUID> chunk : chunks(ids)) {
+            jdbcTemplate.query(SELECT_EVENTS_SQL.formatted(placeholders(chunk.size())), rs -> {
+                UUID id = rs.getObject("order_id", UUID.class);
+                OrderState state = states.get(id);
+                if (state == null) {
+                    state = new OrderState(id);
+                    if (rs.getObject("s_version") != null) {
+                        state.restore(rs, "s_");
+                    }
+                    states.put(id, state);
+                }
+                state.apply(rs);
+            }, chunk.toArray());
+
+            // Órdenes sin eventos posteriores a su instantánea
+            List<UUID> snapshotOnly = chunk.stream()
+                    .filter(id -> !states.containsKey(id))
+                    .toList();
+            if (!snapshotOnly.isEmpty()) {
+                jdbcTemplate.query(SELECT_SNAPSHOTS_SQL.formatted(placeholders(snapshotOnly.size())), rs -> {
+                    OrderState state = new OrderState(rs.getObject("order_id", UUID.class));
+                    state.restore(rs, "");
+                    states.put(state.id, state);
+                }, snapshotOnly.toArray());
+            }
+        }
+
+        return states.values().stream()
+                .map(OrderState::toOrder)
+                .toList();
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, orderId.value());
+        return count != null && count > 0;
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        jdbcTemplate.query(COUNT_BY_STATUS_SQL, rs -> {
+            counts.put(OrderStatus.valueOf(rs.getString(1)), rs.getLong(2));
+        });
+        return counts;
+    }
+
+    @Override
+    public List<Order> search(OrderSearch search, OrderCursor after, int limit) {
+        log.debug("Searching orders: {} after {}", search, after);
+
+        StringBuilder sql = new StringBuilder(SEARCH_SQL);
+        List<Object> args = new ArrayList<>();
+        if (search.status() != null) {
+            sql.append(" AND l.order_status = ?");
+            args.add(search.status().name());
+        }
+        if (search.userId() != null) {
+            sql.append(" AND c.user_id = ?");
+            args.add(search.userId().value());
+        }
+        if (search.createdAfter() != null) {
+            sql.append(" AND c.occurred_at > ?");
+            args.add(search.createdAfter().atOffset(ZoneOffset.UTC));
+        }
+        if (after != null) {
+            sql.append(" AND (c.occurred_at, c.order_id) > (?, ?)");
+            args.add(after.createdAt().atOffset(ZoneOffset.UTC));
+            args.add(after.orderId().value());
+        }
+        sql.append(" ORDER BY c.occurred_at, c.order_id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            OrderState state = new OrderState(rs.getObject("order_id", UUID.class));
+            state.restore(rs, "");
+            return state.toOrder();
+        }, args.toArray());
+    }
+
+    // ==================== ESCRITURA ====================
+
+    private List<Order> append(List<Order> orders) {
+        checkVersions(orders.stream()
+                .filter(order -> !order.isNew() && !order.getDomainEvents().isEmpty())
+                .toList());
+
+        List<EventRow> rows = new ArrayList<>();
+        List<Order> snapshotInserts = new ArrayList<>();
+        List<Order> snapshotUpdates = new ArrayList<>();
+        List<Order> appended = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            List<DomainEvent> events = order.getDomainEvents();
+            if (events.isEmpty()) {
+                if (order.isNew()) {
+                    throw new IllegalStateException("New order " + order.getId() + " has no events to append");
+                }
+                appended.add(order);
+                continue;
+            }
+
+            long first = firstSequence(order);
+            for (int i = 0; i < events.size(); i++) {
+                rows.add(new EventRow(order.getId(), first + i, events.get(i)));
+            }
+            long version = first + events.size() - 1;
+            Order saved = withVersion(order, version);
+            appended.add(saved);
+
+            // Instantánea al cruzar un múltiplo de snapshot-every eventos; existe
+            // ya una si el historial previo había cruzado alguno
+            if (Math.floorDiv(version + 1, snapshotEvery) > Math.floorDiv(first, snapshotEvery)) {
+                (first >= snapshotEvery ? snapshotUpdates : snapshotInserts).add(saved);
+            }
+        }
+
+        insertEvents(rows);
+        writeSnapshots(snapshotInserts, snapshotUpdates);
+        return appended;
+    }
+
+    private void checkVersions(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<UUID, Long> stored = new HashMap<>();
+        for (List<UUID> chunk : chunks(orders.stream().map(order -> order.getId().value()).toList())) {
+            jdbcTemplate.query(SELECT_VERSIONS_SQL.formatted(placeholders(chunk.size())),
+                    rs -> {
+                        stored.put(rs.getObject(1, UUID.class), rs.getLong(2));
+                    },
+                    chunk.toArray());
+        }
+
+        for (Order order : orders) {
+            Long version = stored.get(order.getId().value());
+            if (version == null) {
+                throw new OrderNotFoundException(order.getId());
+            }
+            if (version != order.getVersion()) {
+                throw new ConcurrentOrderModificationException(order.getId(), order.getVersion());
+            }
+        }
+    }
+
+    private void insertEvents(List<EventRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, rows, batchSize, (ps, row) -> {
+                ps.setObject(1, row.orderId().value());
+                ps.setLong(2, row.sequence());
+                ps.setObject(3, row.event().eventId());
+                ps.setString(4, row.event().eventType());
+                switch (row.event()) {
+                    case OrderCreatedDomainEvent created -> {
+                        ps.setString(5, null);
+                        ps.setString(6, OrderStatus.CREATED.name());
+                        ps.setInt(7, created.userId().value());
+                        ps.setInt(8, created.productId().value());
+                        ps.setLong(9, created.amount().cents());
+                    }
+                    case OrderStatusChangedDomainEvent changed -> {
+                        ps.setString(5, changed.previousStatus().name());
+                        ps.setString(6, changed.newStatus().name());
+                        ps.setObject(7, null);
+                        ps.setObject(8, null);
+                        ps.setObject(9, null);
+                    }
+                    default -> throw new IllegalArgumentException(
+                            "Unsupported order event type: " + row.event().eventType());
+                }
+                // Instant como OffsetDateTime en UTC, igual que en OrderRepositoryAdapter
+                ps.setObject(10, row.event().occurredOn().atOffset(ZoneOffset.UTC));
+            });
+        } catch (DuplicateKeyException e) {
+            throw conflictFor(rows);
+        }
+    }
+
+    /**
+     * Identifica la orden cuyo número de secuencia ya ocupa un evento de otro
+     * proceso (solo se consulta tras un choque de clave). Si la base de datos
+     * no admite más sentencias en la transacción fallida (PostgreSQL), se
+     * atribuye a la primera orden del lote.
+     */
+    private ConcurrentOrderModificationException conflictFor(List<EventRow> rows) {
+        EventRow culprit = rows.get(0);
+        try {
+            for (EventRow row : rows) {
+                List<UUID> stored = jdbcTemplate.queryForList(SELECT_EVENT_ID_SQL, UUID.class,
+                        row.orderId().value(), row.sequence());
+                if (!stored.isEmpty() && !stored.get(0).equals(row.event().eventId())) {
+                    culprit = row;
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.debug("Could not identify conflicting order: {}", e.getMessage());
+        }
+        return new ConcurrentOrderModificationException(culprit.orderId(), culprit.sequence() - 1);
+    }
+
+    private void writeSnapshots(List<Order> inserts, List<Order> updates) {
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, inserts, batchSize, (ps, order) -> {
+                ps.setObject(1, order.getId().value());
+                ps.setLong(2, order.getVersion());
+                ps.setInt(3, order.getUserId().value());
+                ps.setInt(4, order.getProductId().value());
+                ps.setLong(5, order.getPrice().cents());
+                ps.setString(6, order.getStatus().name());
+                ps.setObject(7, order.getCreatedAt().atOffset(ZoneOffset.UTC));
+                ps.setObject(8, order.getUpdatedAt().atOffset(ZoneOffset.UTC));
+            });
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SNAPSHOT_SQL, updates, batchSize, (ps, order) -> {
+                ps.setLong(1, order.getVersion());
+                ps.setString(2, order.getStatus().name());
+                ps.setObject(3, order.getUpdatedAt().atOffset(ZoneOffset.UTC));
+                ps.setObject(4, order.getId().value());
+            });
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static long firstSequence(Order order) {
+        return order.isNew() ? 0 : order.getVersion() + 1;
+    }
+
+    private static Order withVersion(Order order, long version) {
+        return Order.reconstitute(order.getId(), order.getUserId(), order.getProductId(), order.getPrice(),
+                order.getStatus(), order.getCreatedAt(), order.getUpdatedAt(), version);
+    }
+
+    private List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            chunks.add(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        return rs.getObject(column, OffsetDateTime.class).toInstant();
+    }
+
+    private record EventRow(OrderId orderId, long sequence, DomainEvent event) {
+    }
+
+    /**
+     * Estado de una orden mientras se reproducen sus eventos.
+     */
+    private static final class OrderState {
+
+        private final UUID id;
+        private long version = -1;
+        private Integer userId;
+        private Integer productId;
+        private long priceCents;
+        private OrderStatus status;
+        private Instant createdAt;
+        private Instant updatedAt;
+
+        private OrderState(UUID id) {
+            this.id = id;
+        }
+
+        private void restore(ResultSet rs, String prefix) throws SQLException {
+            version = rs.getLong(prefix + "version");
+            userId = rs.getInt(prefix + "user_id");
+            productId = rs.getInt(prefix + "product_id");
+            priceCents = rs.getLong(prefix + "price_cents");
+            status = OrderStatus.valueOf(rs.getString(prefix + "order_status"));
+            createdAt = instant(rs, prefix + "created_at");
+            updatedAt = instant(rs, prefix + "updated_at");
+        }
+
+        private void apply(ResultSet rs) throws SQLException {
+            long sequence = rs.getLong("sequence_number");
+            if (sequence != version + 1) {
+                throw new IllegalStateException("Order " + id + " history has a gap: expected event "
+                        + (version + 1) + " but found " + sequence);
+            }
+            version = sequence;
+            status = OrderStatus.valueOf(rs.getString("order_status"));
+            updatedAt = instant(rs, "occurred_at");
+            if (sequence == 0) {
+                userId = rs.getInt("user_id");
+                productId = rs.getInt("product_id");
+                priceCents = rs.getLong("price_cents");
+                createdAt = updatedAt;
+            }
+        }
+
+        private Order toOrder() {
+            return Order.reconstitute(OrderId.of(id), UserId.of(userId), ProductId.of(productId), Money.ofCents(priceCents),
+                    status, createdAt, updatedAt, version);
+        }
+    }
+}
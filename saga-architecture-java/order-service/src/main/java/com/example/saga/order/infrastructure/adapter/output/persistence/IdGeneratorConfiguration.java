@@ -0,0 +1,33 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.model.IdGenerator;
+import com.example.saga.order.domain.model.TimeOrderedIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del generador de IDs de órdenes y eventos de dominio.
+ *
+ * saga.ids.generator elige el generador que instala en el dominio:
+ * - time-ordered (por defecto): UUIDv7; las claves de orders, order_event y
+ *   payment_transaction crecen con el tiempo y se insertan al final del índice.
+ * - random: UUIDv4 de UUID.randomUUID().
+ */
+@Configuration
+@Slf4j
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${saga.ids.generator:time-ordered}") String generator) {
+        IdGenerator idGenerator = switch (generator) {
+            case "time-ordered" -> new TimeOrderedIdGenerator();
+            case "random" -> IdGenerator.RANDOM;
+            default -> throw new IllegalArgumentException("Unknown saga.ids.generator: " + generator);
+        };
+        IdGenerator.use(idGenerator);
+        log.info("Order and domain event ids generated by {}", generator);
+        return idGenerator;
+    }
+}
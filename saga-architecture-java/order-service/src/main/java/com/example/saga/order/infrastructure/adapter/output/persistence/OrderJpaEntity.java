@@ -32,8 +32,8 @@ public class OrderJpaEntity {
     @Column(name = "product_id", nullable = false)
     private Integer productId;
 
-    @Column(nullable = false)
-    private Double price;
+    @Column(name = "price_cents", nullable = false)
+    private Long priceCents;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "order_status", nullable = false)
@@ -44,4 +44,8 @@ public class OrderJpaEntity {
 
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -1,7 +1,9 @@
 package com.example.saga.order.infrastructure.adapter.output.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -9,4 +11,10 @@ import java.util.UUID;
  * Implementación automática de operaciones CRUD.
  */
 public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, UUID> {
+
+    /**
+     * Número de órdenes por estado: cada fila es [OrderStatus, Long].
+     */
+    @Query("select o.orderStatus, count(o) from OrderJpaEntity o group by o.orderStatus")
+    List<Object[]> countGroupedByStatus();
 }
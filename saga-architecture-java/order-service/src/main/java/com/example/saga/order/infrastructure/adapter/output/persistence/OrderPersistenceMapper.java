@@ -19,10 +19,11 @@ public class OrderPersistenceMapper {
                 order.getId().value(),
                 order.getUserId().value(),
                 order.getProductId().value(),
-                order.getPrice().toDouble(),
+                order.getPrice().cents(),
                 order.getStatus(),
                 order.getCreatedAt(),
-                order.getUpdatedAt());
+                order.getUpdatedAt(),
+                order.getVersion());
     }
 
     /**
@@ -34,9 +35,10 @@ public class OrderPersistenceMapper {
                 OrderId.of(entity.getId()),
                 UserId.of(entity.getUserId()),
                 ProductId.of(entity.getProductId()),
-                Money.of(entity.getPrice()),
+                Money.ofCents(entity.getPriceCents()),
                 entity.getOrderStatus(),
                 entity.getCreatedAt(),
-                entity.getUpdatedAt());
+                entity.getUpdatedAt(),
+                entity.getVersion());
     }
 }
@@ -1,34 +1,110 @@
 package com.example.saga.order.infrastructure.adapter.output.persistence;
 
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
+import com.example.saga.order.domain.exception.OrderNotFoundException;
+import com.example.saga.order.domain.model.Money;
 import com.example.saga.order.domain.model.Order;
 import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
 import com.example.saga.order.domain.port.output.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Adaptador de persistencia que implementa el puerto OrderRepository.
  * Actúa como puente entre el dominio y la infraestructura JPA.
+ *
+ * Las escrituras van por JDBC directo, en lotes, sin pasar por merge:
+ * - Órdenes nuevas (Order.isNew): INSERT sin el SELECT previo de merge.
+ * - Órdenes existentes: UPDATE solo de order_status y updated_at, las únicas
+ *   columnas que cambian en una transición, condicionado a la versión leída
+ *   (bloqueo optimista, sin bloquear filas). Si otro proceso la cambió se
+ *   lanza ConcurrentOrderModificationException; si la fila no existe,
+ *   OrderNotFoundException.
+ * Las lecturas por ID siguen por Spring Data JPA; la búsqueda paginada va por
+ * JDBC sobre los índices (order_status | user_id, created_at, id).
  */
-@Repository
+@Repository(OrderRepositoryConfiguration.ORDER_STORE)
 @Slf4j
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "saga.persistence.store", havingValue = "table", matchIfMissing = true)
 public class OrderRepositoryAdapter implements OrderRepository {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO orders (id, user_id, product_id, price_cents, order_status, created_at, updated_at, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // Solo cambian el estado y la fecha de actualización: el resto de columnas es inmutable
+    private static final String UPDATE_SQL =
+            "UPDATE orders SET order_status = ?, updated_at = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private static final String SEARCH_SQL =
+            "SELECT id, user_id, product_id, price_cents, order_status, created_at, updated_at, version FROM orders";
+
     private final OrderJpaRepository jpaRepository;
     private final OrderPersistenceMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
 
     @Override
     public Order save(Order order) {
         log.debug("Saving order: {}", order.getId());
 
         OrderJpaEntity entity = mapper.toJpaEntity(order);
-        OrderJpaEntity savedEntity = jpaRepository.save(entity);
+        if (order.isNew()) {
+            insert(List.of(entity));
+        } else {
+            update(List.of(entity));
+        }
+        return mapper.toDomainEntity(entity);
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        log.debug("Saving {} orders", orders.size());
+
+        List<OrderJpaEntity> entities = new ArrayList<>(orders.size());
+        List<OrderJpaEntity> inserts = new ArrayList<>();
+        List<OrderJpaEntity> updates = new ArrayList<>();
+        for (Order order : orders) {
+            OrderJpaEntity entity = mapper.toJpaEntity(order);
+            entities.add(entity);
+            (order.isNew() ? inserts : updates).add(entity);
+        }
+        insert(inserts);
+        update(updates);
 
-        return mapper.toDomainEntity(savedEntity);
+        // update() deja en cada entidad su nueva versión
+        return entities.stream()
+                .map(mapper::toDomainEntity)
+                .toList();
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        log.debug("Inserting {} orders", orders.size());
+
+        insert(orders.stream()
+                .map(mapper::toJpaEntity)
+                .toList());
     }
 
     @Override
@@ -39,8 +115,114 @@ public class OrderRepositoryAdapter implements OrderRepository {
                 .map(mapper::toDomainEntity);
     }
 
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        log.debug("Finding {} orders by ID", orderIds.size());
+
+        List<UUID> ids = orderIds.stream()
+                .map(OrderId::value)
+                .toList();
+
+        return jpaRepository.findAllById(ids).stream()
+                .map(mapper::toDomainEntity)
+                .toList();
+    }
+
     @Override
     public boolean existsById(OrderId orderId) {
         return jpaRepository.existsById(orderId.value());
     }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : jpaRepository.countGroupedByStatus()) {
+            counts.put((OrderStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Order> search(OrderSearch search, OrderCursor after, int limit) {
+        log.debug("Searching orders: {} after {}", search, after);
+
+        StringBuilder sql = new StringBuilder(SEARCH_SQL).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (search.status() != null) {
+            sql.append(" AND order_status = ?");
+            args.add(search.status().name());
+        }
+        if (search.userId() != null) {
+            sql.append(" AND user_id = ?");
+            args.add(search.userId().value());
+        }
+        if (search.createdAfter() != null) {
+            sql.append(" AND created_at > ?");
+            args.add(search.createdAfter().atOffset(ZoneOffset.UTC));
+        }
+        if (after != null) {
+            // Comparación de filas: continúa justo tras la última orden de la página anterior
+            sql.append(" AND (created_at, id) > (?, ?)");
+            args.add(after.createdAt().atOffset(ZoneOffset.UTC));
+            args.add(after.orderId().value());
+        }
+        sql.append(" ORDER BY created_at, id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> Order.reconstitute(
+                OrderId.of(rs.getObject("id", UUID.class)),
+                UserId.of(rs.getInt("user_id")),
+                ProductId.of(rs.getInt("product_id")),
+                Money.ofCents(rs.getLong("price_cents")),
+                OrderStatus.valueOf(rs.getString("order_status")),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                rs.getObject("updated_at", OffsetDateTime.class).toInstant(),
+                rs.getLong("version")), args.toArray());
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void insert(List<OrderJpaEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entities, batchSize, (ps, entity) -> {
+            // Instant como OffsetDateTime en UTC, igual que lo enlaza Hibernate
+            ps.setObject(1, entity.getId());
+            ps.setInt(2, entity.getUserId());
+            ps.setInt(3, entity.getProductId());
+            ps.setLong(4, entity.getPriceCents());
+            ps.setString(5, entity.getOrderStatus().name());
+            ps.setObject(6, entity.getCreatedAt().atOffset(ZoneOffset.UTC));
+            ps.setObject(7, entity.getUpdatedAt().atOffset(ZoneOffset.UTC));
+        });
+    }
+
+    private void update(List<OrderJpaEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, entities, batchSize, (ps, entity) -> {
+            ps.setString(1, entity.getOrderStatus().name());
+            ps.setObject(2, entity.getUpdatedAt().atOffset(ZoneOffset.UTC));
+            ps.setObject(3, entity.getId());
+            ps.setLong(4, entity.getVersion());
+        });
+
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    OrderJpaEntity entity = entities.get(index);
+                    OrderId orderId = OrderId.of(entity.getId());
+                    if (!jpaRepository.existsById(entity.getId())) {
+                        throw new OrderNotFoundException(orderId);
+                    }
+                    throw new ConcurrentOrderModificationException(orderId, entity.getVersion());
+                }
+                index++;
+            }
+        }
+        entities.forEach(entity -> entity.setVersion(entity.getVersion() + 1));
+    }
 }
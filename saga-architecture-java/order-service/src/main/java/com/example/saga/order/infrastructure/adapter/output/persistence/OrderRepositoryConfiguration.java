@@ -0,0 +1,36 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.port.output.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuración del puerto OrderRepository.
+ *
+ * saga.persistence.store elige el almacén de órdenes, registrado con el
+ * nombre {@link #ORDER_STORE}:
+ * - table (por defecto): una fila por orden en orders (OrderRepositoryAdapter).
+ * - events: historial de eventos con instantáneas (EventSourcedOrderRepository).
+ *
+ * Con saga.cache.enabled=true (por defecto) el almacén queda detrás de la
+ * caché write-through de órdenes en curso.
+ */
+@Configuration
+public class OrderRepositoryConfiguration {
+
+    public static final String ORDER_STORE = "orderStore";
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "saga.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CachingOrderRepository cachingOrderRepository(@Qualifier(ORDER_STORE) OrderRepository orderStore,
+            @Value("${saga.cache.max-size:10000}") int maxSize,
+            MeterRegistry meterRegistry) {
+        return new CachingOrderRepository(orderStore, maxSize, meterRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.port.output.ProcessedMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Adaptador de persistencia del registro de mensajes procesados.
+ *
+ * Reclama cada clave con un único INSERT condicional por JDBC, sin SELECT
+ * previo ni merge de JPA: 1 fila insertada es un mensaje nuevo, 0 un
+ * duplicado. Si dos instancias reclaman a la vez la misma clave, la segunda
+ * espera al bloqueo de la clave primaria y falla con DuplicateKeyException
+ * cuando la primera confirma; su transacción se deshace y la reentrega se
+ * descarta como duplicado.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProcessedMessageRepositoryAdapter implements ProcessedMessageRepository {
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO processed_message (message_key, processed_at) "
+                    + "SELECT CAST(? AS VARCHAR(200)), CAST(? AS TIMESTAMP) "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM processed_message WHERE message_key = ?)";
+
+    private static final String DELETE_SQL = "DELETE FROM processed_message WHERE processed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean claim(String messageKey, Instant processedAt) {
+        return jdbcTemplate.update(CLAIM_SQL, messageKey, processedAt.atOffset(ZoneOffset.UTC), messageKey) == 1;
+    }
+
+    @Override
+    public Set<String> claimAll(Collection<String> messageKeys, Instant processedAt) {
+        if (messageKeys.isEmpty()) {
+            return Set.of();
+        }
+        List<String> keys = new ArrayList<>(messageKeys);
+        int[][] counts = jdbcTemplate.batchUpdate(CLAIM_SQL, keys, keys.size(), (ps, key) -> {
+            ps.setString(1, key);
+            ps.setObject(2, processedAt.atOffset(ZoneOffset.UTC));
+            ps.setString(3, key);
+        });
+
+        Set<String> claimed = new LinkedHashSet<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 1) {
+                    claimed.add(keys.get(index));
+                }
+                index++;
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public int deleteProcessedBefore(Instant threshold) {
+        return jdbcTemplate.update(DELETE_SQL, threshold.atOffset(ZoneOffset.UTC));
+    }
+}
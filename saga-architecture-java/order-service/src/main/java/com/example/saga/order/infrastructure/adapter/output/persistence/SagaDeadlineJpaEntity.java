@@ -0,0 +1,34 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.model.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entidad JPA de la tabla saga_deadline: plazo del paso en curso de una orden.
+ */
+@Entity
+@Table(name = "saga_deadline")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SagaDeadlineJpaEntity {
+
+    @Id
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private OrderStatus step;
+
+    @Column(name = "due_at", nullable = false)
+    private Instant dueAt;
+}
@@ -0,0 +1,38 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositorio JPA Spring Data para la tabla saga_deadline.
+ */
+public interface SagaDeadlineJpaRepository extends JpaRepository<SagaDeadlineJpaEntity, UUID> {
+
+    /**
+     * Plazos que vencen antes del límite, usando el índice sobre due_at.
+     */
+    List<SagaDeadlineJpaEntity> findByDueAtBeforeOrderByDueAtAsc(Instant limit, Pageable pageable);
+
+    /**
+     * Elimina el plazo de una orden sin leerlo antes.
+     */
+    @Modifying
+    @Query("delete from SagaDeadlineJpaEntity d where d.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") UUID orderId);
+
+    /**
+     * Elimina el plazo solo si sigue siendo de ese paso y ya ha vencido.
+     */
+    @Modifying
+    @Query("delete from SagaDeadlineJpaEntity d "
+            + "where d.orderId = :orderId and d.step = :step and d.dueAt <= :now")
+    int deleteDue(@Param("orderId") UUID orderId, @Param("step") OrderStatus step, @Param("now") Instant now);
+}
@@ -0,0 +1,84 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Adaptador de persistencia de los plazos de la saga.
+ * Implementa el puerto SagaDeadlineRepository sobre la tabla saga_deadline.
+ *
+ * schedule se ejecuta en cada transición de la saga, así que registra el
+ * plazo con un único MERGE por JDBC: save de JPA sobre un id asignado es un
+ * merge que añade un SELECT previo por paso.
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class SagaDeadlineRepositoryAdapter implements SagaDeadlineRepository {
+
+    private static final String UPSERT_SQL =
+            "MERGE INTO saga_deadline d "
+                    + "USING (SELECT CAST(? AS UUID) AS order_id, CAST(? AS VARCHAR(50)) AS step, "
+                    + "CAST(? AS TIMESTAMP) AS due_at) s "
+                    + "ON d.order_id = s.order_id "
+                    + "WHEN MATCHED THEN UPDATE SET step = s.step, due_at = s.due_at "
+                    + "WHEN NOT MATCHED THEN INSERT (order_id, step, due_at) VALUES (s.order_id, s.step, s.due_at)";
+
+    private static final String POSTPONE_SQL =
+            "UPDATE saga_deadline SET due_at = ? WHERE order_id = ? AND step = ? AND due_at < ?";
+
+    private final SagaDeadlineJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void schedule(SagaDeadline deadline) {
+        log.debug("Scheduling {} deadline for order {} at {}", deadline.step(), deadline.orderId(), deadline.dueAt());
+
+        jdbcTemplate.update(UPSERT_SQL,
+                deadline.orderId().value(),
+                deadline.step().name(),
+                deadline.dueAt().atOffset(ZoneOffset.UTC));
+    }
+
+    @Override
+    @Transactional
+    public void cancel(OrderId orderId) {
+        jpaRepository.deleteByOrderId(orderId.value());
+    }
+
+    @Override
+    public List<SagaDeadline> findDueBefore(Instant limit, int maxResults) {
+        return jpaRepository.findByDueAtBeforeOrderByDueAtAsc(limit, PageRequest.of(0, maxResults)).stream()
+                .map(entity -> new SagaDeadline(
+                        OrderId.of(entity.getOrderId()),
+                        entity.getStep(),
+                        entity.getDueAt()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public boolean claim(OrderId orderId, OrderStatus step, Instant now) {
+        return jpaRepository.deleteDue(orderId.value(), step, now) > 0;
+    }
+
+    @Override
+    public boolean postpone(SagaDeadline deadline, Instant dueAt) {
+        return jdbcTemplate.update(POSTPONE_SQL,
+                dueAt.atOffset(ZoneOffset.UTC),
+                deadline.orderId().value(),
+                deadline.step().name(),
+                dueAt.atOffset(ZoneOffset.UTC)) == 1;
+    }
+}
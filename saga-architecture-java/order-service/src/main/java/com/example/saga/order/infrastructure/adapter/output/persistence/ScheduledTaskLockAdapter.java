@@ -0,0 +1,35 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.port.output.ScheduledTaskLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Adaptador del reparto de tareas periódicas sobre la tabla scheduled_task.
+ *
+ * Cada tarea tiene una fila (creada por Liquibase) con su última ejecución.
+ * Reclamarla es un UPDATE condicional: solo la instancia que actualiza la
+ * fila la ejecuta; el bloqueo de la fila ordena las llamadas concurrentes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScheduledTaskLockAdapter implements ScheduledTaskLock {
+
+    private static final String CLAIM_SQL =
+            "UPDATE scheduled_task SET last_run_at = ? WHERE task_name = ? AND last_run_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean tryClaim(String taskName, Instant now, Duration minInterval) {
+        return jdbcTemplate.update(CLAIM_SQL,
+                now.atOffset(ZoneOffset.UTC),
+                taskName,
+                now.minus(minInterval).atOffset(ZoneOffset.UTC)) == 1;
+    }
+}
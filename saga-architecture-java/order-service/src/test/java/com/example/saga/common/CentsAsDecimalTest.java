@@ -0,0 +1,37 @@
+package com.example.saga.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del JSON de los importes: el contrato con los servicios .NET sigue
+ * siendo "amount" con decimales.
+ */
+class CentsAsDecimalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Debe escribir el importe como amount con decimales")
+    void shouldWriteAmountAsDecimal() throws Exception {
+        JsonNode json = objectMapper.valueToTree(new PaymentRequestDTO(101, 202, UUID.randomUUID(), 15050L));
+
+        assertThat(json.has("amountCents")).isFalse();
+        assertThat(json.get("amount").decimalValue()).isEqualByComparingTo("150.50");
+    }
+
+    @Test
+    @DisplayName("Debe leer el amount de .NET redondeando a céntimos")
+    void shouldReadDotNetAmount() throws Exception {
+        OrderRequestDTO request = objectMapper.readValue(
+                "{\"userId\":101,\"productId\":202,\"amount\":99.995,\"orderId\":null}", OrderRequestDTO.class);
+
+        assertThat(request.amountCents()).isEqualTo(10000L);
+    }
+}
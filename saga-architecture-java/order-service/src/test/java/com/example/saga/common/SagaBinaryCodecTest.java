@@ -0,0 +1,90 @@
+package com.example.saga.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests del formato binario de los mensajes de la saga.
+ */
+class SagaBinaryCodecTest {
+
+    private static final UUID ORDER_ID = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Debe codificar y decodificar todos los DTOs de integración sin pérdidas")
+    void shouldRoundTripAllIntegrationDtos() {
+        OrderRequestDTO orderRequest = new OrderRequestDTO(101, 202, 15050L, ORDER_ID);
+        PaymentRequestDTO paymentRequest = new PaymentRequestDTO(101, 202, ORDER_ID, 15050L);
+        InventoryRequestDTO inventoryRequest = new InventoryRequestDTO(101, 202, ORDER_ID);
+
+        assertRoundTrip(orderRequest);
+        assertRoundTrip(paymentRequest);
+        assertRoundTrip(inventoryRequest);
+        assertRoundTrip(new OrderEvent(orderRequest, OrderStatus.ORDER_CREATED));
+        assertRoundTrip(new PaymentEvent(paymentRequest, PaymentStatus.PAYMENT_FAILED));
+        assertRoundTrip(new InventoryEvent(inventoryRequest, InventoryStatus.INVENTORY_RESERVED));
+    }
+
+    @Test
+    @DisplayName("Debe conservar los campos nulos y ocupar menos que el JSON")
+    void shouldKeepNullsAndBeCompact() {
+        assertRoundTrip(new PaymentRequestDTO(101, null, ORDER_ID, 0L));
+        assertRoundTrip(new OrderEvent(null, null));
+
+        byte[] bytes = SagaBinaryCodec.encode(new PaymentEvent(
+                new PaymentRequestDTO(101, 202, ORDER_ID, 15050L), PaymentStatus.PAYMENT_COMPLETED));
+        // versión + tipo + estado + presencia + máscara + 4 + 4 + 16 + 8
+        assertThat(bytes).hasSize(37);
+        assertThat(bytes[0]).isEqualTo(SagaBinaryCodec.VERSION);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar versiones desconocidas, tipos cambiados y mensajes truncados")
+    void shouldRejectInvalidPayloads() {
+        byte[] bytes = SagaBinaryCodec.encode(new InventoryRequestDTO(101, 202, ORDER_ID));
+
+        byte[] futureVersion = bytes.clone();
+        futureVersion[0] = SagaBinaryCodec.VERSION + 1;
+        assertThatThrownBy(() -> SagaBinaryCodec.decode(futureVersion, InventoryRequestDTO.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> SagaBinaryCodec.decode(bytes, PaymentRequestDTO.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SagaBinaryCodec.decode(Arrays.copyOf(bytes, 10), InventoryRequestDTO.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    @DisplayName("El conversor solo debe actuar sobre mensajes con su content type")
+    void converterShouldOnlyHandleSagaBinaryContentType() {
+        SagaBinaryMessageConverter converter = new SagaBinaryMessageConverter();
+        PaymentEvent event = new PaymentEvent(
+                new PaymentRequestDTO(101, 202, ORDER_ID, 15050L), PaymentStatus.PAYMENT_COMPLETED);
+
+        Message<?> binary = converter.toMessage(event,
+                new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, SagaBinaryMessageConverter.SAGA_BINARY)));
+        assertThat(binary).isNotNull();
+        assertThat(converter.fromMessage(binary, PaymentEvent.class)).isEqualTo(event);
+
+        Message<byte[]> json = MessageBuilder.withPayload("{}".getBytes())
+                .setHeader(MessageHeaders.CONTENT_TYPE, "application/json")
+                .build();
+        assertThat(converter.fromMessage(json, PaymentEvent.class)).isNull();
+    }
+
+    private static void assertRoundTrip(Object payload) {
+        byte[] bytes = SagaBinaryCodec.encode(payload);
+        assertThat(SagaBinaryCodec.decode(bytes, payload.getClass())).isEqualTo(payload);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.saga.order;
+
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.infrastructure.adapter.input.rest.CreateOrderRequest;
+import com.example.saga.order.infrastructure.adapter.input.rest.OrderResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Con saga.persistence.store=events la saga avanza igual, pero cada paso
+ * añade eventos a order_event en lugar de actualizar la tabla orders.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "saga.persistence.store=events")
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, brokerProperties = { "listeners=PLAINTEXT://localhost:9094", "port=9094" })
+@DirtiesContext
+public class EventSourcedOrderStoreIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testSagaStepsAppendOrderEvents() throws InterruptedException {
+        // When
+        ResponseEntity<OrderResponse> response = restTemplate.postForEntity("/orders",
+                new CreateOrderRequest(1, 101, 30.0), OrderResponse.class);
+        UUID orderId = response.getBody().id();
+
+        // Then - el primer paso de la saga se lee reproduciendo los eventos
+        for (int i = 0; i < 50 && statusOf(orderId) == OrderStatus.CREATED; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.PAYMENT_PENDING);
+
+        List<String> history = jdbcTemplate.queryForList(
+                "SELECT order_status FROM order_event WHERE order_id = ? ORDER BY sequence_number",
+                String.class, orderId);
+        assertThat(history).containsExactly(OrderStatus.CREATED.name(), OrderStatus.PAYMENT_PENDING.name());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, orderId))
+                .isZero();
+    }
+
+    private OrderStatus statusOf(UUID orderId) {
+        return restTemplate.getForObject("/orders/" + orderId, OrderResponse.class).status();
+    }
+}
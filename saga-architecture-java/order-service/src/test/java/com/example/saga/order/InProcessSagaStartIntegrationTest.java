@@ -0,0 +1,74 @@
+package com.example.saga.order;
+
+import com.example.saga.order.application.query.OrderStatusWatcher;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.infrastructure.adapter.input.rest.CreateOrderRequest;
+import com.example.saga.order.infrastructure.adapter.input.rest.OrderResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Con saga.start-mode=in-process la saga arranca tras el commit de la
+ * creación sin esperar a order-events; el evento, que llega después, se
+ * descarta como duplicado.
+ *
+ * Usa su propia base de datos y su propio broker (puerto aleatorio): con
+ * orderdb_test las órdenes y plazos que dejan otros contextos los compensaría
+ * SagaTimeoutScheduler durante el test, y esos envíos compiten con el primer
+ * paso de esta saga.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "saga.start-mode=in-process",
+                "spring.datasource.url=jdbc:h2:mem:orderdb_in_process;DB_CLOSE_DELAY=-1" })
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1)
+@DirtiesContext
+public class InProcessSagaStartIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private OrderStatusWatcher watcher;
+
+    @Test
+    public void testSagaStartsInProcessAfterCommit() throws Exception {
+        // When
+        ResponseEntity<OrderResponse> response = restTemplate.postForEntity("/orders",
+                new CreateOrderRequest(1, 101, 30.0), OrderResponse.class);
+        OrderId orderId = OrderId.of(response.getBody().id());
+
+        // Then - el primer paso de la saga se ejecuta sin esperar a Kafka
+        assertThat(firstStatusAfterCreated(orderId)).isEqualTo(OrderStatus.PAYMENT_PENDING);
+    }
+
+    /**
+     * Espera, como mucho 30 s, al primer estado confirmado distinto de CREATED.
+     */
+    private OrderStatus firstStatusAfterCreated(OrderId orderId) throws Exception {
+        CompletableFuture<OrderStatus> started = new CompletableFuture<>();
+        Runnable unwatch = watcher.watch(orderId, order -> {
+            if (order.getStatus() != OrderStatus.CREATED) {
+                started.complete(order.getStatus());
+            }
+        });
+        try {
+            return started.get(30, TimeUnit.SECONDS);
+        } finally {
+            unwatch.run();
+        }
+    }
+}
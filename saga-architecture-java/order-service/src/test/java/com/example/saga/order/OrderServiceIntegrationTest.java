@@ -1,21 +1,64 @@
 package com.example.saga.order;
 
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.infrastructure.adapter.input.rest.BatchOrderResult;
 import com.example.saga.order.infrastructure.adapter.input.rest.CreateOrderRequest;
 import com.example.saga.order.infrastructure.adapter.input.rest.OrderResponse;
+import com.example.saga.order.infrastructure.adapter.input.rest.OrderSearchResponse;
+import com.example.saga.order.infrastructure.adapter.output.outbox.OutboxEventJpaEntity;
+import com.example.saga.order.infrastructure.adapter.output.outbox.OutboxEventJpaRepository;
 import com.example.saga.order.infrastructure.adapter.output.persistence.OrderJpaRepository;
+import com.example.saga.order.infrastructure.adapter.output.persistence.OrderRepositoryAdapter;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
 import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
 @EmbeddedKafka(partitions = 1, brokerProperties = { "listeners=PLAINTEXT://localhost:9094", "port=9094" })
 @DirtiesContext
 public class OrderServiceIntegrationTest {
@@ -26,6 +69,18 @@ public class OrderServiceIntegrationTest {
     @Autowired
     private OrderJpaRepository orderRepository;
 
+    @Autowired
+    private OrderRepositoryAdapter orderRepositoryAdapter;
+
+    @Autowired
+    private OutboxEventJpaRepository outboxRepository;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @LocalServerPort
+    private int port;
+
     @Test
     public void testOrderCreation() {
         // Given
@@ -45,4 +100,201 @@ public class OrderServiceIntegrationTest {
         // Verify order saved in DB
         assertThat(orderRepository.findAll()).isNotEmpty();
     }
+
+    @Test
+    public void testOrderCreatedEventRelayedThroughOutbox() throws InterruptedException {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(1, 101, 50.0);
+
+        // When
+        ResponseEntity<OrderResponse> response = restTemplate.postForEntity("/orders", request, OrderResponse.class);
+
+        // Then - el evento se guarda en el outbox en la misma transacción
+        UUID orderId = response.getBody().id();
+        assertThat(outboxEventsFor(orderId)).hasSize(1);
+
+        // Y el relay lo publica en Kafka de forma asíncrona
+        for (int i = 0; i < 50 && outboxEventsFor(orderId).get(0).getPublishedAt() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(outboxEventsFor(orderId).get(0).getPublishedAt()).isNotNull();
+    }
+
+    @Test
+    public void testSagaCommandsKeyedByOrderId() {
+        // Given
+        Map<String, Object> props = KafkaTestUtils.consumerProps("key-check", "false", embeddedKafka);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // payment-commands se crea con el primer envío: refrescar metadatos enseguida
+        props.put(ConsumerConfig.METADATA_MAX_AGE_CONFIG, 500);
+        try (Consumer<byte[], byte[]> consumer = new KafkaConsumer<>(props,
+                new ByteArrayDeserializer(), new ByteArrayDeserializer())) {
+            consumer.subscribe(List.of("payment-commands"));
+
+            // When
+            ResponseEntity<OrderResponse> response = restTemplate.postForEntity("/orders",
+                    new CreateOrderRequest(1, 101, 25.0), OrderResponse.class);
+            String orderId = response.getBody().id().toString();
+
+            // Then - el comando de pago lleva el orderId como clave de partición
+            boolean found = false;
+            long deadline = System.currentTimeMillis() + 15_000;
+            while (!found && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<byte[], byte[]> record : consumer.poll(Duration.ofMillis(200))) {
+                    found |= record.key() != null
+                            && orderId.equals(new String(record.key(), StandardCharsets.UTF_8));
+                }
+            }
+            assertThat(found).isTrue();
+        }
+    }
+
+    @Test
+    public void testSagaStepMetricsExposedForPrometheus() throws InterruptedException {
+        // When
+        restTemplate.postForEntity("/orders", new CreateOrderRequest(1, 101, 30.0), OrderResponse.class);
+
+        // Then - el primer paso de la saga aparece como histograma en /actuator/prometheus
+        String scrape = "";
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!scrape.contains("step=\"order_created\"") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(200);
+            scrape = restTemplate.getForObject("/actuator/prometheus", String.class);
+        }
+        assertThat(scrape).contains("saga_step_duration_seconds_bucket");
+        assertThat(scrape).contains("step=\"order_created\"");
+        assertThat(scrape).contains("saga_in_flight{");
+    }
+
+    @Test
+    public void testAsyncSubmissionWithStatusStream() throws Exception {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Prefer", "respond-async");
+
+        // When
+        ResponseEntity<OrderResponse> response = restTemplate.exchange("/orders", HttpMethod.POST,
+                new HttpEntity<>(new CreateOrderRequest(1, 101, 15.0), headers), OrderResponse.class);
+
+        // Then - 202 con la ubicación del pedido
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        UUID orderId = response.getBody().id();
+        assertThat(response.getHeaders().getLocation()).hasPath("/orders/" + orderId);
+
+        // Y el stream SSE entrega el estado actual y las transiciones de la saga
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/orders/" + orderId + "/events")).build();
+        HttpResponse<Stream<String>> events = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = events.body()) {
+            Optional<String> paymentPending = CompletableFuture
+                    .supplyAsync(() -> lines.filter(line -> line.contains("PAYMENT_PENDING")).findFirst())
+                    .get(15, TimeUnit.SECONDS);
+            assertThat(paymentPending).hasValueSatisfying(line -> assertThat(line).startsWith("data:"));
+        }
+    }
+
+    @Test
+    public void testWaitForOutcomeFallsBackToAccepted() {
+        // When - sin payment-service la saga no termina dentro de la espera
+        ResponseEntity<OrderResponse> response = restTemplate.postForEntity("/orders?waitMillis=300",
+                new CreateOrderRequest(1, 101, 20.0), OrderResponse.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getHeaders().getLocation()).hasPath("/orders/" + response.getBody().id());
+    }
+
+    @Test
+    public void testBatchOrderCreationReportsPerItemResults() {
+        // Given - el segundo pedido no tiene usuario
+        List<CreateOrderRequest> requests = Arrays.asList(
+                new CreateOrderRequest(1, 101, 10.0),
+                new CreateOrderRequest(null, 101, 10.0),
+                new CreateOrderRequest(2, 102, 12.5));
+
+        // When
+        ResponseEntity<BatchOrderResult[]> response = restTemplate.postForEntity("/orders/batch", requests,
+                BatchOrderResult[].class);
+
+        // Then - un resultado por pedido, en el mismo orden
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        BatchOrderResult[] results = response.getBody();
+        assertThat(results).extracting(BatchOrderResult::index).containsExactly(0, 1, 2);
+        assertThat(results).extracting(BatchOrderResult::outcome).containsExactly(
+                BatchOrderResult.Outcome.CREATED, BatchOrderResult.Outcome.REJECTED, BatchOrderResult.Outcome.CREATED);
+        assertThat(results[1].error()).contains("userId");
+        assertThat(results[2].order().productId()).isEqualTo(102);
+
+        // Y los válidos quedan guardados con su evento en el outbox
+        for (BatchOrderResult result : List.of(results[0], results[2])) {
+            UUID orderId = result.order().id();
+            assertThat(orderRepository.findById(orderId)).hasValueSatisfying(saved -> assertThat(saved.getCreatedAt())
+                    .isCloseTo(result.order().createdAt(), within(1, ChronoUnit.MILLIS)));
+            assertThat(outboxEventsFor(orderId)).hasSize(1);
+        }
+    }
+
+    @Test
+    public void testStaleOrderUpdateIsRejected() {
+        // Given - dos copias de la misma orden leídas con la versión 0
+        Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(10.0));
+        orderRepositoryAdapter.save(order);
+        Order first = orderRepositoryAdapter.findById(order.getId()).orElseThrow();
+        Order stale = orderRepositoryAdapter.findById(order.getId()).orElseThrow();
+
+        // When - la primera se guarda antes
+        first.markPaymentPending();
+        orderRepositoryAdapter.save(first);
+        stale.cancel();
+
+        // Then - la copia desfasada no pisa el cambio
+        assertThatThrownBy(() -> orderRepositoryAdapter.save(stale))
+                .isInstanceOf(ConcurrentOrderModificationException.class);
+        assertThat(orderRepository.findById(order.getId().value())).hasValueSatisfying(saved -> {
+            assertThat(saved.getOrderStatus()).isEqualTo(OrderStatus.PAYMENT_PENDING);
+            assertThat(saved.getVersion()).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    public void testOrderSearchPagesByCursor() {
+        // Given - tres órdenes de un usuario sin otras órdenes
+        List<Order> orders = Stream.generate(() -> Order.create(UserId.of(4242), ProductId.of(101), Money.of(5.0)))
+                .limit(3)
+                .toList();
+        orderRepositoryAdapter.insertAll(orders);
+
+        // When
+        ResponseEntity<OrderSearchResponse> first = restTemplate.getForEntity(
+                "/orders?userId=4242&limit=2", OrderSearchResponse.class);
+        ResponseEntity<OrderSearchResponse> second = restTemplate.getForEntity(
+                "/orders?userId=4242&limit=2&after=" + first.getBody().nextCursor(), OrderSearchResponse.class);
+
+        // Then - dos páginas sin solapes, en orden de creación
+        assertThat(first.getBody().hasMore()).isTrue();
+        assertThat(first.getBody().orders()).hasSize(2);
+        assertThat(second.getBody().hasMore()).isFalse();
+        assertThat(second.getBody().nextCursor()).isNull();
+        assertThat(Stream.concat(first.getBody().orders().stream(), second.getBody().orders().stream())
+                .map(OrderResponse::id))
+                .containsExactlyInAnyOrderElementsOf(orders.stream().map(order -> order.getId().value()).toList());
+        assertThat(Stream.concat(first.getBody().orders().stream(), second.getBody().orders().stream())
+                .map(OrderResponse::createdAt))
+                .isSorted();
+
+        // Y los filtros se combinan
+        assertThat(restTemplate.getForEntity("/orders?userId=4242&status=COMPLETED", OrderSearchResponse.class)
+                .getBody().orders()).isEmpty();
+        assertThat(restTemplate.getForEntity("/orders?limit=0", Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity("/orders?status=UNKNOWN", Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private List<OutboxEventJpaEntity> outboxEventsFor(UUID orderId) {
+        return outboxRepository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals(orderId))
+                .toList();
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.saga.order;
+
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.infrastructure.adapter.input.rest.CreateOrderRequest;
+import com.example.saga.order.infrastructure.adapter.input.rest.OrderResponse;
+import com.example.saga.order.infrastructure.adapter.output.persistence.OrderJpaRepository;
+import com.example.saga.order.infrastructure.adapter.output.persistence.SagaDeadlineJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sin payment-service nadie responde al comando de pago: al vencer el plazo
+ * la saga se compensa y la orden queda cancelada.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "saga.start-mode=in-process", "saga.timeout.payment=PT1S" })
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, brokerProperties = { "listeners=PLAINTEXT://localhost:9094", "port=9094" })
+@DirtiesContext
+public class SagaTimeoutIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private OrderJpaRepository orderRepository;
+
+    @Autowired
+    private SagaDeadlineJpaRepository deadlineRepository;
+
+    @Test
+    public void testPaymentTimeoutCancelsOrder() throws InterruptedException {
+        // When
+        ResponseEntity<OrderResponse> response = restTemplate.postForEntity("/orders",
+                new CreateOrderRequest(1, 101, 30.0), OrderResponse.class);
+        UUID orderId = response.getBody().id();
+
+        // Then - mientras espera el pago tiene un plazo registrado...
+        for (int i = 0; i < 50 && !deadlineRepository.existsById(orderId)
+                && statusOf(orderId) != OrderStatus.CANCELLED; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(deadlineRepository.existsById(orderId) || statusOf(orderId) == OrderStatus.CANCELLED).isTrue();
+
+        // ...y al vencer se cancela y el plazo desaparece
+        for (int i = 0; i < 100 && statusOf(orderId) != OrderStatus.CANCELLED; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(deadlineRepository.existsById(orderId)).isFalse();
+    }
+
+    private OrderStatus statusOf(UUID orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getOrderStatus();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.saga.order.application.query;
+
+import com.example.saga.order.domain.event.OrderCreatedDomainEvent;
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.input.GetOrderUseCase;
+import com.example.saga.order.domain.port.input.GetOrderViewUseCase.OrderView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de la proyección de lectura de órdenes.
+ */
+class OrderReadProjectionTest {
+
+    private GetOrderUseCase getOrderUseCase;
+
+    @BeforeEach
+    void setUp() {
+        getOrderUseCase = mock(GetOrderUseCase.class);
+    }
+
+    @Test
+    @DisplayName("Debe servir desde memoria la vista construida con los eventos")
+    void shouldServeViewBuiltFromEvents() {
+        // Given
+        OrderReadProjection projection = projection(100, Duration.ofMinutes(1));
+        Order order = Order.create(UserId.of(1), ProductId.of(2), Money.of(99.99));
+        Instant changedAt = order.getCreatedAt().plusMillis(5);
+        projection.onOrderCreated((OrderCreatedDomainEvent) order.getDomainEvents().get(0));
+        projection.onStatusChanged(new OrderStatusChangedDomainEvent(null, changedAt, order.getId(),
+                OrderStatus.CREATED, OrderStatus.PAYMENT_PENDING));
+
+        // When
+        Optional<OrderView> view = projection.execute(order.getId());
+
+        // Then
+        assertThat(view).hasValueSatisfying(v -> {
+            assertThat(v.status()).isEqualTo(OrderStatus.PAYMENT_PENDING);
+            assertThat(v.price()).isEqualTo(Money.of(99.99));
+            assertThat(v.createdAt()).isEqualTo(order.getCreatedAt());
+            assertThat(v.updatedAt()).isEqualTo(changedAt);
+        });
+        verify(getOrderUseCase, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Debe cargar de la base de datos una sola vez las órdenes terminadas")
+    void shouldLoadMissingTerminalOrderOnce() {
+        // Given
+        Order completed = stored(OrderStatus.COMPLETED);
+        OrderReadProjection projection = projection(100, Duration.ZERO);
+
+        // When
+        projection.execute(completed.getId());
+        Optional<OrderView> second = projection.execute(completed.getId());
+
+        // Then
+        assertThat(second).map(OrderView::status).contains(OrderStatus.COMPLETED);
+        verify(getOrderUseCase, times(1)).execute(completed.getId());
+    }
+
+    @Test
+    @DisplayName("Debe releer las sagas en curso cuya vista ha caducado")
+    void shouldReloadStaleInFlightOrder() {
+        // Given
+        Order pending = stored(OrderStatus.PAYMENT_PENDING);
+        OrderReadProjection projection = projection(100, Duration.ZERO);
+
+        // When
+        projection.execute(pending.getId());
+        projection.execute(pending.getId());
+
+        // Then
+        verify(getOrderUseCase, times(2)).execute(pending.getId());
+    }
+
+    @Test
+    @DisplayName("Debe invalidar la vista si llega una transición que no encaja")
+    void shouldInvalidateOnOutOfOrderEvent() {
+        // Given
+        Order order = stored(OrderStatus.PAYMENT_PENDING);
+        OrderReadProjection projection = projection(100, Duration.ofMinutes(1));
+        projection.execute(order.getId());
+
+        // When - se perdió la transición a INVENTORY_PENDING
+        projection.onStatusChanged(new OrderStatusChangedDomainEvent(order.getId(),
+                OrderStatus.INVENTORY_PENDING, OrderStatus.INVENTORY_RESERVED));
+        projection.execute(order.getId());
+
+        // Then
+        verify(getOrderUseCase, times(2)).execute(order.getId());
+    }
+
+    @Test
+    @DisplayName("Debe expulsar la vista menos usada al superar el tamaño máximo")
+    void shouldEvictLeastRecentlyUsedView() {
+        // Given
+        Order first = stored(OrderStatus.COMPLETED);
+        Order second = stored(OrderStatus.COMPLETED);
+        Order third = stored(OrderStatus.COMPLETED);
+        OrderReadProjection projection = projection(2, Duration.ofMinutes(1));
+
+        // When
+        projection.execute(first.getId());
+        projection.execute(second.getId());
+        projection.execute(first.getId());
+        projection.execute(third.getId());
+        projection.execute(first.getId());
+        projection.execute(second.getId());
+
+        // Then
+        verify(getOrderUseCase, times(1)).execute(first.getId());
+        verify(getOrderUseCase, times(2)).execute(second.getId());
+    }
+
+    private OrderReadProjection projection(int maxSize, Duration inFlightTtl) {
+        return new OrderReadProjection(getOrderUseCase, maxSize, inFlightTtl, new SimpleMeterRegistry());
+    }
+
+    private Order stored(OrderStatus status) {
+        Instant now = Instant.now();
+        Order order = Order.reconstitute(OrderId.generate(), UserId.of(1), ProductId.of(2), Money.of(10.0),
+                status, now, now, 1);
+        when(getOrderUseCase.execute(order.getId())).thenReturn(Optional.of(order));
+        return order;
+    }
+}
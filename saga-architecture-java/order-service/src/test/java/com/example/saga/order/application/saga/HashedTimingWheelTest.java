@@ -0,0 +1,63 @@
+package com.example.saga.order.application.saga;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de la rueda de plazos, avanzando el tiempo a mano.
+ */
+class HashedTimingWheelTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private HashedTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 8, START);
+    }
+
+    @Test
+    @DisplayName("Debe vencer cada plazo en su tick, también tras varias vueltas")
+    void shouldExpireAtDeadline() {
+        wheel.schedule("soon", START.plusMillis(250));
+        wheel.schedule("later", START.plusMillis(2_050));
+
+        assertThat(wheel.advance(START.plusMillis(200))).isEmpty();
+        assertThat(wheel.advance(START.plusMillis(300))).containsExactly("soon");
+        // 2050 ms cae en el mismo cubo que 450 ms (8 cubos de 100 ms) pero en otra vuelta
+        assertThat(wheel.advance(START.plusMillis(500))).isEmpty();
+        assertThat(wheel.advance(START.plusMillis(2_100))).containsExactly("later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Reprogramar sustituye el plazo y cancelar lo elimina")
+    void shouldRescheduleAndCancel() {
+        wheel.schedule("order-1", START.plusMillis(100));
+        wheel.schedule("order-1", START.plusMillis(700));
+        wheel.schedule("order-2", START.plusMillis(100));
+        wheel.cancel("order-2");
+
+        assertThat(wheel.advance(START.plusMillis(300))).isEmpty();
+        assertThat(wheel.advance(START.plusMillis(700))).containsExactly("order-1");
+    }
+
+    @Test
+    @DisplayName("Debe vencer todo lo atrasado aunque se salten más ticks que cubos")
+    void shouldCatchUpAfterLongPause() {
+        wheel.schedule("past", START.minusSeconds(10));
+        wheel.schedule("a", START.plusMillis(300));
+        wheel.schedule("b", START.plusMillis(1_500));
+        wheel.schedule("c", START.plusSeconds(60));
+
+        assertThat(wheel.advance(START.plusSeconds(5))).containsExactlyInAnyOrder("past", "a", "b");
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+}
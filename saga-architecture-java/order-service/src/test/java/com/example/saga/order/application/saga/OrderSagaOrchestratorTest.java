@@ -0,0 +1,386 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.output.DomainEventPublisher;
+import com.example.saga.order.domain.port.output.InventoryCommandSender;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import com.example.saga.order.domain.port.output.PaymentCommandSender;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository.SagaDeadline;
+import com.example.saga.order.domain.port.output.SagaJournal;
+import com.example.saga.order.domain.port.output.ScheduledTaskLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios del orquestador - sin Spring, con los puertos simulados.
+ */
+class OrderSagaOrchestratorTest {
+
+    private OrderRepository orderRepository;
+    private PaymentCommandSender paymentCommandSender;
+    private InventoryCommandSender inventoryCommandSender;
+    private DomainEventPublisher eventPublisher;
+    private SagaDeadlineRepository deadlineRepository;
+    private OrderSagaOrchestrator orchestrator;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        paymentCommandSender = mock(PaymentCommandSender.class);
+        inventoryCommandSender = mock(InventoryCommandSender.class);
+        eventPublisher = mock(DomainEventPublisher.class);
+        deadlineRepository = mock(SagaDeadlineRepository.class);
+        orchestrator = new OrderSagaOrchestrator(orderRepository, paymentCommandSender,
+                inventoryCommandSender, eventPublisher, deadlineRepository,
+                new SagaMetrics(new SimpleMeterRegistry(), orderRepository, mock(ScheduledTaskLock.class), 60000),
+                mock(SagaJournal.class));
+        ReflectionTestUtils.setField(orchestrator, "paymentTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(orchestrator, "inventoryTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(orchestrator, "maxAttempts", 3);
+        ReflectionTestUtils.setField(orchestrator, "initialBackoffMillis", 1L);
+        ReflectionTestUtils.setField(orchestrator, "maxBackoffMillis", 2L);
+    }
+
+    @Nested
+    @DisplayName("Modo batch")
+    class BatchMode {
+
+        @Test
+        @DisplayName("Debe cargar y persistir todo el lote de una vez")
+        void shouldLoadAndSaveWholeBatchOnce() {
+            // Given
+            Order paid = paymentPendingOrder();
+            Order rejected = paymentPendingOrder();
+            when(orderRepository.findAllById(anyCollection())).thenReturn(List.of(paid, rejected));
+
+            // When
+            orchestrator.onPaymentResults(List.of(
+                    new SagaStepOutcome(paid.getId(), true),
+                    new SagaStepOutcome(rejected.getId(), false)));
+
+            // Then
+            assertThat(paid.getStatus()).isEqualTo(OrderStatus.INVENTORY_PENDING);
+            assertThat(rejected.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            verify(orderRepository, times(1)).findAllById(anyCollection());
+            verify(orderRepository, times(1)).saveAll(List.of(paid, rejected));
+            verify(orderRepository, never()).findById(any());
+            verify(inventoryCommandSender, times(1)).sendReserveInventoryCommand(any());
+        }
+
+        @Test
+        @DisplayName("Debe ignorar eventos inválidos sin bloquear el lote")
+        void shouldSkipInvalidOutcomes() {
+            // Given
+            Order completed = paymentPendingOrder();
+            completed.confirmPayment();
+            completed.markInventoryPending();
+            completed.confirmInventory();
+            completed.complete();
+            completed.clearDomainEvents();
+            Order pending = paymentPendingOrder();
+            when(orderRepository.findAllById(anyCollection())).thenReturn(List.of(completed, pending));
+
+            // When
+            orchestrator.onPaymentResults(List.of(
+                    new SagaStepOutcome(completed.getId(), true),
+                    new SagaStepOutcome(pending.getId(), true)));
+
+            // Then
+            assertThat(pending.getStatus()).isEqualTo(OrderStatus.INVENTORY_PENDING);
+            verify(orderRepository).saveAll(List.of(pending));
+        }
+
+        @Test
+        @DisplayName("No debe persistir nada si ninguna orden cambia")
+        void shouldNotSaveWhenNothingChanged() {
+            // Given
+            when(orderRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+            // When
+            orchestrator.onInventoryResults(List.of(new SagaStepOutcome(paymentPendingOrder().getId(), true)));
+
+            // Then
+            verify(orderRepository, never()).saveAll(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Plazos de los pasos")
+    class StepTimeouts {
+
+        @Test
+        @DisplayName("Debe registrar el plazo del paso en curso y eliminarlo al terminar")
+        void shouldTrackDeadlineWhileWaiting() {
+            // Given
+            Order paid = paymentPendingOrder();
+            Order rejected = paymentPendingOrder();
+            when(orderRepository.findAllById(anyCollection())).thenReturn(List.of(paid, rejected));
+
+            // When
+            orchestrator.onPaymentResults(List.of(
+                    new SagaStepOutcome(paid.getId(), true),
+                    new SagaStepOutcome(rejected.getId(), false)));
+
+            // Then
+            verify(deadlineRepository).schedule(
+                    argThat(deadline -> deadline.orderId().equals(paid.getId())
+                            && deadline.step() == OrderStatus.INVENTORY_PENDING));
+            verify(deadlineRepository).cancel(rejected.getId());
+        }
+
+        @Test
+        @DisplayName("Debe cancelar y reembolsar una orden cuyo pago no responde")
+        void shouldCompensatePaymentTimeout() {
+            // Given
+            Order order = paymentPendingOrder();
+            SagaDeadline deadline = new SagaDeadline(order.getId(), OrderStatus.PAYMENT_PENDING, Instant.now());
+            when(deadlineRepository.claim(eq(order.getId()), eq(OrderStatus.PAYMENT_PENDING), any()))
+                    .thenReturn(true);
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+            // When
+            orchestrator.onStepTimedOut(deadline);
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            verify(orderRepository).save(order);
+            verify(paymentCommandSender).sendRefundPaymentCommand(any());
+        }
+
+        @Test
+        @DisplayName("No debe compensar si el plazo ya fue atendido")
+        void shouldIgnoreUnclaimedDeadline() {
+            // Given
+            Order order = paymentPendingOrder();
+            when(deadlineRepository.claim(any(), any(), any())).thenReturn(false);
+
+            // When
+            orchestrator.onStepTimedOut(new SagaDeadline(order.getId(), OrderStatus.PAYMENT_PENDING, Instant.now()));
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_PENDING);
+            verify(orderRepository, never()).findById(any());
+            verify(paymentCommandSender, never()).sendRefundPaymentCommand(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Modo paralelo")
+    class ParallelMode {
+
+        @BeforeEach
+        void enableParallelMode() {
+            ReflectionTestUtils.setField(orchestrator, "mode", "parallel");
+        }
+
+        @Test
+        @DisplayName("Debe enviar pago y reserva a la vez al crear la orden")
+        void shouldSendBothCommandsOnStart() {
+            // Given
+            Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+            order.clearDomainEvents();
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+            // When
+            orchestrator.onOrderCreated(order.getId());
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_AND_INVENTORY_PENDING);
+            verify(paymentCommandSender).sendProcessPaymentCommand(any());
+            verify(inventoryCommandSender).sendReserveInventoryCommand(any());
+            verify(deadlineRepository).schedule(
+                    argThat(deadline -> deadline.step() == OrderStatus.PAYMENT_AND_INVENTORY_PENDING));
+        }
+
+        @Test
+        @DisplayName("Debe completar la orden al llegar ambas confirmaciones, en cualquier orden")
+        void shouldJoinBothLegs() {
+            // Given
+            Order paymentFirst = parallelPendingOrder();
+            Order inventoryFirst = parallelPendingOrder();
+            when(orderRepository.findById(paymentFirst.getId())).thenReturn(Optional.of(paymentFirst));
+            when(orderRepository.findById(inventoryFirst.getId())).thenReturn(Optional.of(inventoryFirst));
+
+            // When
+            orchestrator.onPaymentCompleted(paymentFirst.getId());
+            orchestrator.onInventoryReserved(inventoryFirst.getId());
+            assertThat(paymentFirst.getStatus()).isEqualTo(OrderStatus.INVENTORY_PENDING);
+            assertThat(inventoryFirst.getStatus()).isEqualTo(OrderStatus.INVENTORY_RESERVED_PAYMENT_PENDING);
+
+            orchestrator.onInventoryReserved(paymentFirst.getId());
+            orchestrator.onPaymentCompleted(inventoryFirst.getId());
+
+            // Then
+            assertThat(paymentFirst.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+            assertThat(inventoryFirst.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+            verify(inventoryCommandSender, never()).sendReserveInventoryCommand(any());
+            verify(inventoryCommandSender, never()).sendReleaseInventoryCommand(any());
+            verify(paymentCommandSender, never()).sendRefundPaymentCommand(any());
+        }
+
+        @Test
+        @DisplayName("Debe liberar el inventario reservado si el pago falla")
+        void shouldReleaseInventoryWhenPaymentFails() {
+            // Given
+            Order order = parallelPendingOrder();
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+            orchestrator.onInventoryReserved(order.getId());
+
+            // When
+            orchestrator.onPaymentFailed(order.getId());
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            verify(inventoryCommandSender).sendReleaseInventoryCommand(
+                    argThat(command -> command.orderId().equals(order.getId())));
+            verify(paymentCommandSender, never()).sendRefundPaymentCommand(any());
+        }
+
+        @Test
+        @DisplayName("Debe liberar una reserva que llega cuando la orden ya está cancelada")
+        void shouldReleaseLateReservation() {
+            // Given
+            Order order = parallelPendingOrder();
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+            orchestrator.onPaymentFailed(order.getId());
+            verify(inventoryCommandSender, never()).sendReleaseInventoryCommand(any());
+
+            // When
+            orchestrator.onInventoryReserved(order.getId());
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            verify(inventoryCommandSender).sendReleaseInventoryCommand(any());
+            verify(orderRepository, times(1)).save(order);
+        }
+
+        @Test
+        @DisplayName("Debe ignorar un pago completado que llega tras rechazarse el inventario")
+        void shouldIgnorePaymentCompletedAfterInventoryRejected() {
+            // Given
+            Order order = parallelPendingOrder();
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+            orchestrator.onInventoryRejected(order.getId());
+
+            // When
+            orchestrator.onPaymentCompleted(order.getId());
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            verify(paymentCommandSender, times(1)).sendRefundPaymentCommand(any());
+            verify(inventoryCommandSender, never()).sendReserveInventoryCommand(any());
+            verify(orderRepository, times(1)).save(order);
+        }
+
+        @Test
+        @DisplayName("Debe ignorar un pago fallido que llega tras rechazarse el inventario")
+        void shouldIgnorePaymentFailedAfterInventoryRejected() {
+            // Given
+            Order order = parallelPendingOrder();
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+            orchestrator.onInventoryRejected(order.getId());
+
+            // When
+            orchestrator.onPaymentFailed(order.getId());
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            verify(inventoryCommandSender, never()).sendReleaseInventoryCommand(any());
+            verify(orderRepository, times(1)).save(order);
+        }
+
+        private Order parallelPendingOrder() {
+            Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+            order.markPaymentAndInventoryPending();
+            order.clearDomainEvents();
+            return order;
+        }
+    }
+
+    @Nested
+    @DisplayName("Conflictos de versión")
+    class ConflictRetry {
+
+        @Test
+        @DisplayName("Debe reintentar el paso hasta que deja de haber conflicto")
+        void shouldRetryUntilNoConflict() {
+            // Given
+            OrderId orderId = OrderId.generate();
+            AtomicInteger attempts = new AtomicInteger();
+
+            // When
+            orchestrator.retryOnConflict(() -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new ConcurrentOrderModificationException(orderId, 1);
+                }
+            });
+
+            // Then
+            assertThat(attempts).hasValue(3);
+        }
+
+        @Test
+        @DisplayName("Debe propagar el conflicto al agotar los intentos")
+        void shouldGiveUpAfterMaxAttempts() {
+            // Given
+            OrderId orderId = OrderId.generate();
+            AtomicInteger attempts = new AtomicInteger();
+
+            // When / Then
+            assertThatThrownBy(() -> orchestrator.retryOnConflict(() -> {
+                attempts.incrementAndGet();
+                throw new ConcurrentOrderModificationException(orderId, 1);
+            })).isInstanceOf(ConcurrentOrderModificationException.class);
+            assertThat(attempts).hasValue(3);
+        }
+
+        @Test
+        @DisplayName("No debe reintentar otros errores")
+        void shouldNotRetryOtherFailures() {
+            AtomicInteger attempts = new AtomicInteger();
+
+            assertThatThrownBy(() -> orchestrator.retryOnConflict(() -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("boom");
+            })).isInstanceOf(IllegalStateException.class);
+            assertThat(attempts).hasValue(1);
+        }
+    }
+
+    private Order paymentPendingOrder() {
+        Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+        order.markPaymentPending();
+        order.clearDomainEvents();
+        return order;
+    }
+}
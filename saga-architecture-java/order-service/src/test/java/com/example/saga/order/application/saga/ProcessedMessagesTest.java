@@ -0,0 +1,92 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.port.output.ProcessedMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests del consumidor idempotente, con el registro persistente simulado.
+ */
+class ProcessedMessagesTest {
+
+    private ProcessedMessageRepository repository;
+    private ProcessedMessages processedMessages;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ProcessedMessageRepository.class);
+        when(repository.claim(anyString(), any())).thenReturn(true);
+        processedMessages = new ProcessedMessages(repository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+                Duration.ofDays(7), 100);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Debe descartar una reentrega sin consultar la base de datos")
+    void shouldDropRedeliveryFromCache() {
+        assertThat(processedMessages.runOnce("payment:1", executions::incrementAndGet)).isTrue();
+        assertThat(processedMessages.runOnce("payment:1", executions::incrementAndGet)).isFalse();
+
+        assertThat(executions).hasValue(1);
+        verify(repository, times(1)).claim(eq("payment:1"), any());
+    }
+
+    @Test
+    @DisplayName("Debe descartar un mensaje que procesó otra instancia aunque no esté en la caché")
+    void shouldDropMessageClaimedByAnotherInstance() {
+        when(repository.claim(eq("inventory:1"), any())).thenReturn(false);
+
+        assertThat(processedMessages.runOnce("inventory:1", executions::incrementAndGet)).isFalse();
+        assertThat(processedMessages.runOnce("inventory:1", executions::incrementAndGet)).isFalse();
+
+        assertThat(executions).hasValue(0);
+        verify(repository, times(1)).claim(eq("inventory:1"), any());
+    }
+
+    @Test
+    @DisplayName("Un paso que falla no queda registrado y puede reintentarse")
+    void shouldNotRecordFailedStep() {
+        assertThatThrownBy(() -> processedMessages.runOnce("payment:2", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(processedMessages.runOnce("payment:2", executions::incrementAndGet)).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Debe quitar de un lote los procesados y las repeticiones")
+    void shouldDropDuplicatesFromBatch() {
+        processedMessages.runOnce("payment:1", executions::incrementAndGet);
+        when(repository.claimAll(eq(List.of("payment:2", "payment:3", "payment:4")), any()))
+                .thenReturn(Set.of("payment:2", "payment:4"));
+
+        List<String> applied = new ArrayList<>();
+        processedMessages.runOnce(List.of("payment:1", "payment:2", "payment:2", "payment:3", "payment:4"),
+                key -> key, applied::addAll);
+
+        assertThat(applied).containsExactly("payment:2", "payment:4");
+    }
+}
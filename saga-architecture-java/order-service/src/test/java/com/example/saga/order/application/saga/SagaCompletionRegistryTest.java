@@ -0,0 +1,96 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.application.query.OrderStatusWatcher;
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.input.AwaitOrderOutcomeUseCase.SagaOutcome;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests del registro de esperas del resultado de la saga.
+ */
+class SagaCompletionRegistryTest {
+
+    private OrderRepository orderRepository;
+    private OrderStatusWatcher watcher;
+    private SagaCompletionRegistry registry;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        watcher = new OrderStatusWatcher(orderRepository);
+        registry = new SagaCompletionRegistry(watcher);
+        order = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+        order.markPaymentPending();
+        when(orderRepository.findAllByIdFromStore(anyCollection())).thenReturn(List.of(order));
+    }
+
+    @Test
+    @DisplayName("Debe liberar la espera cuando la orden llega a un estado terminal")
+    void shouldCompleteOnTerminalStatus() throws Exception {
+        CompletableFuture<SagaOutcome> outcome = registry.execute(order.getId(), Duration.ofSeconds(5));
+
+        registry.onStatusChanged(new OrderStatusChangedDomainEvent(
+                order.getId(), OrderStatus.PAYMENT_PENDING, OrderStatus.PAYMENT_COMPLETED));
+        assertThat(outcome).isNotDone();
+
+        registry.onStatusChanged(new OrderStatusChangedDomainEvent(
+                order.getId(), OrderStatus.PAYMENT_FAILED, OrderStatus.CANCELLED));
+        assertThat(outcome.get(1, TimeUnit.SECONDS).status()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Debe liberar la espera cuando otra instancia termina la saga")
+    void shouldCompleteWhenAnotherInstanceFinishes() throws Exception {
+        CompletableFuture<SagaOutcome> outcome = registry.execute(order.getId(), Duration.ofSeconds(5));
+        watcher.poll();
+        assertThat(outcome).isNotDone();
+
+        // Sin evento local: solo el almacén refleja la cancelación
+        order.cancel();
+        watcher.poll();
+
+        assertThat(outcome.get(1, TimeUnit.SECONDS).status()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Debe expirar si la saga no termina a tiempo")
+    void shouldTimeOut() {
+        CompletableFuture<SagaOutcome> outcome = registry.execute(order.getId(), Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> outcome.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("Debe completar de inmediato si la saga ya había terminado")
+    void shouldCompleteWhenAlreadyTerminal() {
+        order.cancel();
+
+        CompletableFuture<SagaOutcome> outcome = registry.execute(order.getId(), Duration.ofSeconds(5));
+
+        assertThat(outcome).isCompletedWithValueMatching(result -> result.status() == OrderStatus.CANCELLED);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository.SagaDeadline;
+import com.example.saga.order.domain.port.output.SagaJournal;
+import com.example.saga.order.domain.port.output.SagaJournal.Entry;
+import com.example.saga.order.domain.port.output.SagaJournal.Type;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de la recuperación de sagas en curso desde el diario.
+ */
+class SagaJournalRecoveryTest {
+
+    @Test
+    @DisplayName("Debe reprogramar solo las sagas cuya última entrada es un comando pendiente")
+    void shouldScheduleOnlyInFlightSagas() {
+        // Given
+        Instant t0 = Instant.parse("2024-01-01T10:00:00Z");
+        OrderId awaitingPayment = OrderId.generate();
+        OrderId awaitingInventory = OrderId.generate();
+        OrderId completed = OrderId.generate();
+        Entry paymentRequested = new Entry(Type.PAYMENT_REQUESTED, awaitingPayment, t0);
+        Entry inventoryRequested = new Entry(Type.INVENTORY_REQUESTED, awaitingInventory, t0.plusSeconds(2));
+        SagaJournal journal = journalWith(
+                // La entrada compactada de un arranque anterior va después, pero es más antigua
+                new Entry(Type.PAYMENT_COMPLETED, awaitingInventory, t0.plusSeconds(1)),
+                inventoryRequested,
+                new Entry(Type.PAYMENT_REQUESTED, awaitingInventory, t0),
+                paymentRequested,
+                new Entry(Type.INVENTORY_REQUESTED, completed, t0),
+                new Entry(Type.INVENTORY_RESERVED, completed, t0.plusSeconds(1)));
+        SagaTimeoutScheduler scheduler = mock(SagaTimeoutScheduler.class);
+
+        // When
+        recovery(journal, scheduler).recover();
+
+        // Then
+        verify(scheduler).schedule(new SagaDeadline(awaitingPayment, OrderStatus.PAYMENT_PENDING,
+                t0.plus(Duration.ofMinutes(1))));
+        verify(scheduler).schedule(new SagaDeadline(awaitingInventory, OrderStatus.INVENTORY_PENDING,
+                t0.plusSeconds(2).plus(Duration.ofMinutes(2))));
+        verify(scheduler, times(2)).schedule(any());
+        verify(journal).compact(argThat(live ->
+                live.size() == 2 && live.containsAll(List.of(paymentRequested, inventoryRequested))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private SagaJournal journalWith(Entry... entries) {
+        SagaJournal journal = mock(SagaJournal.class);
+        doAnswer(invocation -> {
+            Consumer<Entry> visitor = invocation.getArgument(0);
+            List.of(entries).forEach(visitor);
+            return null;
+        }).when(journal).replay(any(Consumer.class));
+        return journal;
+    }
+
+    @SuppressWarnings("unchecked")
+    private SagaJournalRecovery recovery(SagaJournal journal, SagaTimeoutScheduler scheduler) {
+        ObjectProvider<SagaTimeoutScheduler> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(scheduler);
+        return new SagaJournalRecovery(journal, provider, Duration.ofMinutes(1), Duration.ofMinutes(2));
+    }
+}
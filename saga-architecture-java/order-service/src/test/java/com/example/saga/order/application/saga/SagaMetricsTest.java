@@ -0,0 +1,101 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import com.example.saga.order.domain.port.output.ScheduledTaskLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de las métricas de la saga sobre un SimpleMeterRegistry.
+ */
+class SagaMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderRepository orderRepository;
+    private ScheduledTaskLock taskLock;
+    private SagaMetrics sagaMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderRepository = mock(OrderRepository.class);
+        taskLock = mock(ScheduledTaskLock.class);
+        sagaMetrics = new SagaMetrics(meterRegistry, orderRepository, taskLock, 60000);
+    }
+
+    @Test
+    @DisplayName("Debe medir cada paso etiquetado por resultado")
+    void shouldTimeStepsByOutcome() {
+        sagaMetrics.timeStep("payment_completed", () -> { });
+        assertThatThrownBy(() -> sagaMetrics.timeStep("payment_completed", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(SagaMetrics.STEP_TIMER)
+                .tags("step", "payment_completed", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SagaMetrics.STEP_TIMER)
+                .tags("step", "payment_completed", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe registrar la latencia extremo a extremo solo en estados terminales")
+    void shouldRecordEndToEndOnlyForTerminalOrders() {
+        Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+        order.markPaymentPending();
+        sagaMetrics.recordIfTerminal(order);
+        assertThat(meterRegistry.find(SagaMetrics.END_TO_END_TIMER).timer()).isNull();
+
+        order.failPayment();
+        sagaMetrics.recordIfTerminal(order);
+        assertThat(meterRegistry.get(SagaMetrics.END_TO_END_TIMER)
+                .tag("outcome", "CANCELLED").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe exponer las órdenes en curso por estado")
+    void shouldExposeInFlightGauges() {
+        when(taskLock.tryClaim(eq(SagaMetrics.IN_FLIGHT_TASK), any(), any())).thenReturn(true);
+        when(orderRepository.countByStatus()).thenReturn(Map.of(
+                OrderStatus.PAYMENT_PENDING, 3L,
+                OrderStatus.COMPLETED, 10L));
+
+        sagaMetrics.refreshInFlight();
+
+        assertThat(meterRegistry.get(SagaMetrics.IN_FLIGHT_GAUGE)
+                .tag("status", "PAYMENT_PENDING").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get(SagaMetrics.IN_FLIGHT_GAUGE)
+                .tag("status", "INVENTORY_PENDING").gauge().value()).isZero();
+        assertThat(meterRegistry.find(SagaMetrics.IN_FLIGHT_GAUGE)
+                .tag("status", "COMPLETED").gauge()).isNull();
+    }
+
+    @Test
+    @DisplayName("No debe consultar los recuentos si otra instancia ya los refrescó en este intervalo")
+    void shouldSkipRefreshWhenAnotherInstanceClaimedIt() {
+        when(taskLock.tryClaim(eq(SagaMetrics.IN_FLIGHT_TASK), any(), any())).thenReturn(false);
+
+        sagaMetrics.refreshInFlight();
+
+        verify(orderRepository, never()).countByStatus();
+        assertThat(meterRegistry.get(SagaMetrics.IN_FLIGHT_GAUGE)
+                .tag("status", "PAYMENT_PENDING").gauge().value()).isNaN();
+    }
+}
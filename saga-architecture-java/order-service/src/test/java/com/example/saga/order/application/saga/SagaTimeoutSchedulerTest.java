@@ -0,0 +1,128 @@
+package com.example.saga.order.application.saga;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository;
+import com.example.saga.order.domain.port.output.SagaDeadlineRepository.SagaDeadline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests del scheduler de plazos sobre un saga_deadline en memoria.
+ */
+class SagaTimeoutSchedulerTest {
+
+    private static final int LOAD_BATCH_SIZE = 2;
+    private static final long RETRY_BACKOFF_MS = 60_000;
+
+    private InMemoryDeadlines deadlines;
+    private Set<OrderId> failing;
+    private Set<OrderId> compensated;
+    private SagaTimeoutScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        deadlines = new InMemoryDeadlines();
+        failing = ConcurrentHashMap.newKeySet();
+        compensated = ConcurrentHashMap.newKeySet();
+
+        OrderSagaOrchestrator orchestrator = mock(OrderSagaOrchestrator.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(orchestrator).retryOnConflict(any());
+        doAnswer(invocation -> {
+            SagaDeadline deadline = invocation.getArgument(0);
+            if (failing.contains(deadline.orderId())) {
+                throw new IllegalStateException("compensation failed");
+            }
+            deadlines.rows.remove(deadline.orderId());
+            compensated.add(deadline.orderId());
+            return null;
+        }).when(orchestrator).onStepTimedOut(any());
+
+        scheduler = new SagaTimeoutScheduler(deadlines, orchestrator, Runnable::run,
+                10, 5_000, LOAD_BATCH_SIZE, RETRY_BACKOFF_MS, 300_000);
+    }
+
+    @Test
+    @DisplayName("Los plazos que fallan no deben impedir que venzan los más recientes")
+    void shouldNotStarveNewerDeadlinesBehindFailingOnes() throws InterruptedException {
+        Instant now = Instant.now();
+        for (int i = 0; i < LOAD_BATCH_SIZE + 1; i++) {
+            SagaDeadline deadline = deadline(now.minusSeconds(10 - i));
+            failing.add(deadline.orderId());
+            deadlines.schedule(deadline);
+        }
+        SagaDeadline newer = deadline(now.minusSeconds(1));
+        deadlines.schedule(newer);
+
+        for (int cycle = 0; cycle < 5 && !compensated.contains(newer.orderId()); cycle++) {
+            scheduler.loadUpcoming();
+            Thread.sleep(30);
+            scheduler.tick();
+        }
+
+        assertThat(compensated).containsExactly(newer.orderId());
+        // Los que fallan siguen en la tabla, aplazados con el backoff
+        assertThat(deadlines.rows.keySet()).containsExactlyInAnyOrderElementsOf(failing);
+        assertThat(deadlines.rows.values())
+                .allSatisfy(deadline -> assertThat(deadline.dueAt()).isAfter(now.plusSeconds(30)));
+    }
+
+    private static SagaDeadline deadline(Instant dueAt) {
+        return new SagaDeadline(OrderId.generate(), OrderStatus.PAYMENT_PENDING, dueAt);
+    }
+
+    private static final class InMemoryDeadlines implements SagaDeadlineRepository {
+
+        private final Map<OrderId, SagaDeadline> rows = new ConcurrentHashMap<>();
+
+        @Override
+        public void schedule(SagaDeadline deadline) {
+            rows.put(deadline.orderId(), deadline);
+        }
+
+        @Override
+        public void cancel(OrderId orderId) {
+            rows.remove(orderId);
+        }
+
+        @Override
+        public List<SagaDeadline> findDueBefore(Instant limit, int maxResults) {
+            return rows.values().stream()
+                    .filter(deadline -> deadline.dueAt().isBefore(limit))
+                    .sorted(Comparator.comparing(SagaDeadline::dueAt))
+                    .limit(maxResults)
+                    .toList();
+        }
+
+        @Override
+        public boolean claim(OrderId orderId, OrderStatus step, Instant now) {
+            SagaDeadline deadline = rows.get(orderId);
+            return deadline != null && deadline.step() == step && !deadline.dueAt().isAfter(now)
+                    && rows.remove(orderId, deadline);
+        }
+
+        @Override
+        public boolean postpone(SagaDeadline deadline, Instant dueAt) {
+            SagaDeadline current = rows.get(deadline.orderId());
+            return current != null && current.step() == deadline.step() && current.dueAt().isBefore(dueAt)
+                    && rows.replace(deadline.orderId(), current,
+                            new SagaDeadline(deadline.orderId(), deadline.step(), dueAt));
+        }
+    }
+}
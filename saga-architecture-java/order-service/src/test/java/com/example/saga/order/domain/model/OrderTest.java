@@ -8,6 +8,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +41,19 @@ class OrderTest {
             assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED);
         }
 
+        @Test
+        @DisplayName("Solo las órdenes recién creadas deben ser nuevas")
+        void shouldBeNewOnlyWhenCreated() {
+            // When
+            Order created = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+            Order reconstituted = Order.reconstitute(created.getId(), created.getUserId(), created.getProductId(),
+                    created.getPrice(), created.getStatus(), created.getCreatedAt(), created.getUpdatedAt(), 0);
+
+            // Then
+            assertThat(created.isNew()).isTrue();
+            assertThat(reconstituted.isNew()).isFalse();
+        }
+
         @Test
         @DisplayName("Debe generar evento OrderCreatedDomainEvent al crear")
         void shouldGenerateOrderCreatedEventOnCreation() {
@@ -102,6 +116,24 @@ class OrderTest {
             assertThat(events).allMatch(e -> e instanceof OrderStatusChangedDomainEvent);
         }
 
+        @Test
+        @DisplayName("Debe unir pago e inventario pedidos en paralelo")
+        void shouldJoinParallelLegs() {
+            // Given
+            Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+            order.markPaymentAndInventoryPending();
+
+            // When
+            order.confirmInventory();
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.INVENTORY_RESERVED_PAYMENT_PENDING);
+            assertThatThrownBy(order::complete).isInstanceOf(InvalidOrderStateException.class);
+            order.confirmPayment();
+            order.complete();
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        }
+
         @Test
         @DisplayName("Debe cancelar automáticamente cuando el pago falla")
         void shouldAutoCancelOnPaymentFailure() {
@@ -192,5 +224,15 @@ class OrderTest {
             assertThat(m1.subtract(m2).toDouble()).isEqualTo(50.0);
             assertThat(m1.isGreaterThan(m2)).isTrue();
         }
+
+        @Test
+        @DisplayName("Money debe operar en céntimos exactos y redondear HALF_UP al convertir")
+        void moneyShouldBeExactInCents() {
+            assertThat(Money.of(0.1).add(Money.of(0.2))).isEqualTo(Money.of(0.3));
+            assertThat(Money.of(0.3).cents()).isEqualTo(30);
+            assertThat(Money.of(new BigDecimal("99.995")).cents()).isEqualTo(10000);
+            assertThat(Money.ofCents(15050).toBigDecimal()).isEqualByComparingTo("150.50");
+            assertThat(Money.ofCents(15050)).hasToString("150.50");
+        }
     }
 }
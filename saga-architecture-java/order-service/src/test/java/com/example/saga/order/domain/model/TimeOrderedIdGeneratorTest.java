@@ -0,0 +1,93 @@
+package com.example.saga.order.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios del generador de UUIDv7 - NO requieren Spring.
+ */
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    @DisplayName("Debe generar UUIDs versión 7, variante RFC, con el instante en los 48 bits altos")
+    void shouldGenerateVersion7Uuids() {
+        Instant now = Instant.parse("2024-05-01T10:15:30.123Z");
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(Clock.fixed(now, ZoneOffset.UTC));
+
+        UUID id = generator.generate();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(now.toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("Debe generar IDs estrictamente crecientes dentro del mismo milisegundo")
+    void shouldBeMonotonicWithinSameMillisecond() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(
+                Clock.fixed(Instant.parse("2024-05-01T10:15:30Z"), ZoneOffset.UTC));
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.generate());
+        }
+
+        // Más de 4096 IDs en un milisegundo: el contador se agota y el instante avanza
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(
+                    ids.get(i - 1).getMostSignificantBits(), ids.get(i).getMostSignificantBits()))
+                    .isNegative();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe generar IDs únicos desde varios hilos")
+    void shouldGenerateUniqueIdsAcrossThreads() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.generate());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("Las órdenes nuevas deben usar el generador instalado")
+    void newOrdersShouldUseInstalledGenerator() {
+        Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+
+        assertThat(order.getId().value().version()).isEqualTo(7);
+        assertThat(order.getDomainEvents().get(0).eventId().version()).isEqualTo(7);
+    }
+}
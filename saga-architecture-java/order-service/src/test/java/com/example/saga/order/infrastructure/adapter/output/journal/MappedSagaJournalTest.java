@@ -0,0 +1,118 @@
+package com.example.saga.order.infrastructure.adapter.output.journal;
+
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.port.output.SagaJournal.Entry;
+import com.example.saga.order.domain.port.output.SagaJournal.Type;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del diario memory-mapped sobre un directorio temporal.
+ */
+class MappedSagaJournalTest {
+
+    // Cabecera + dos registros por segmento, para forzar la rotación
+    private static final DataSize SMALL_SEGMENT =
+            DataSize.ofBytes(MappedSagaJournal.HEADER_SIZE + 2L * MappedSagaJournal.RECORD_SIZE);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Debe reproducir tras reiniciar lo escrito antes, rotando segmentos")
+    void shouldReplayEntriesAcrossSegmentsAfterRestart() throws IOException {
+        // Given - 5 entradas en segmentos de 2
+        List<Entry> written = entries(5);
+        MappedSagaJournal journal = open(SMALL_SEGMENT);
+        written.forEach(journal::append);
+        journal.close();
+
+        // When
+        List<Entry> replayed = replay(open(SMALL_SEGMENT));
+
+        // Then
+        assertThat(replayed).containsExactlyElementsOf(written);
+        assertThat(segments()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Debe descartar un registro dañado y seguir con el siguiente segmento")
+    void shouldStopSegmentAtCorruptRecord() throws IOException {
+        // Given - el segundo registro del primer segmento tiene un byte alterado
+        List<Entry> written = entries(3);
+        MappedSagaJournal journal = open(SMALL_SEGMENT);
+        written.forEach(journal::append);
+        journal.close();
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            long offset = MappedSagaJournal.HEADER_SIZE + MappedSagaJournal.RECORD_SIZE + 5;
+            file.seek(offset);
+            int original = file.read();
+            file.seek(offset);
+            file.write(original ^ 0xFF);
+        }
+
+        // When
+        List<Entry> replayed = replay(open(SMALL_SEGMENT));
+
+        // Then
+        assertThat(replayed).containsExactly(written.get(0), written.get(2));
+    }
+
+    @Test
+    @DisplayName("Debe conservar solo las entradas vivas al compactar")
+    void shouldKeepOnlyLiveEntriesWhenCompacting() throws IOException {
+        // Given
+        List<Entry> written = entries(5);
+        MappedSagaJournal journal = open(SMALL_SEGMENT);
+        written.forEach(journal::append);
+        journal.close();
+
+        // When
+        MappedSagaJournal restarted = open(SMALL_SEGMENT);
+        restarted.compact(List.of(written.get(3)));
+        restarted.close();
+
+        // Then
+        assertThat(replay(open(SMALL_SEGMENT))).containsExactly(written.get(3));
+    }
+
+    private MappedSagaJournal open(DataSize segmentSize) throws IOException {
+        return new MappedSagaJournal(directory.toString(), segmentSize, Duration.ofHours(1));
+    }
+
+    private List<Entry> replay(MappedSagaJournal journal) {
+        List<Entry> replayed = new ArrayList<>();
+        journal.replay(replayed::add);
+        return replayed;
+    }
+
+    private List<Entry> entries(int count) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(Type.values()[i % Type.values().length], OrderId.generate(), now.plusMillis(i)));
+        }
+        return entries;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.saga.order.infrastructure.adapter.output.messaging;
+
+import com.example.saga.order.domain.event.DomainEvent;
+import com.example.saga.order.domain.event.OrderCreatedDomainEvent;
+import com.example.saga.order.domain.event.OrderStatusChangedDomainEvent;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.output.DomainEventPublisher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests del publicador que coalesce las transiciones de un mismo paso.
+ */
+class CoalescingDomainEventPublisherTest {
+
+    private final DomainEventPublisher delegate = mock(DomainEventPublisher.class);
+    private final CoalescingDomainEventPublisher publisher = new CoalescingDomainEventPublisher(delegate);
+
+    @Test
+    @DisplayName("Debe publicar PAYMENT_FAILED y CANCELLED como un solo evento con el recorrido")
+    void shouldFoldTransitionsOfOneStep() {
+        // Given
+        Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(10.0));
+        order.markPaymentPending();
+        order.clearDomainEvents();
+        order.failPayment();
+        List<DomainEvent> raw = order.getDomainEvents();
+
+        // When
+        publisher.publishAll(raw);
+
+        // Then
+        assertThat(published()).singleElement()
+                .isInstanceOfSatisfying(OrderStatusChangedDomainEvent.class, event -> {
+                    assertThat(event.previousStatus()).isEqualTo(OrderStatus.PAYMENT_PENDING);
+                    assertThat(event.newStatus()).isEqualTo(OrderStatus.CANCELLED);
+                    assertThat(event.path()).containsExactly(
+                            OrderStatus.PAYMENT_PENDING, OrderStatus.PAYMENT_FAILED, OrderStatus.CANCELLED);
+                    assertThat(event.eventId()).isEqualTo(raw.get(0).eventId());
+                    assertThat(event.occurredOn()).isEqualTo(order.getUpdatedAt());
+                });
+    }
+
+    @Test
+    @DisplayName("Debe coalescer cada orden por separado y dejar intactos los demás eventos")
+    void shouldKeepOtherOrdersAndEventTypesApart() {
+        // Given - una orden nueva que pasa a PAYMENT_PENDING y otra que completa el pago
+        Order created = Order.create(UserId.of(1), ProductId.of(101), Money.of(10.0));
+        created.markPaymentPending();
+        Order paid = Order.create(UserId.of(2), ProductId.of(102), Money.of(20.0));
+        paid.markPaymentPending();
+        paid.clearDomainEvents();
+        paid.confirmPayment();
+        paid.markInventoryPending();
+        List<DomainEvent> events = new ArrayList<>(created.getDomainEvents());
+        events.addAll(paid.getDomainEvents());
+
+        // When
+        publisher.publishAll(events);
+
+        // Then - 4 eventos se quedan en 3
+        List<DomainEvent> published = published();
+        assertThat(published).hasSize(3);
+        assertThat(published.get(0)).isInstanceOf(OrderCreatedDomainEvent.class);
+        assertThat(((OrderStatusChangedDomainEvent) published.get(1)).path())
+                .containsExactly(OrderStatus.CREATED, OrderStatus.PAYMENT_PENDING);
+        assertThat(((OrderStatusChangedDomainEvent) published.get(2)).path())
+                .containsExactly(OrderStatus.PAYMENT_PENDING, OrderStatus.PAYMENT_COMPLETED,
+                        OrderStatus.INVENTORY_PENDING);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DomainEvent> published() {
+        ArgumentCaptor<List<DomainEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(delegate).publishAll(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.output.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios de la caché write-through de órdenes.
+ */
+class CachingOrderRepositoryTest {
+
+    private OrderRepository delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(OrderRepository.class);
+        when(delegate.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CachingOrderRepository(delegate, 2, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe servir desde caché lo que se acaba de guardar")
+    void shouldServeSavedOrderFromCache() {
+        Order order = pendingOrder();
+        repository.save(order);
+
+        Optional<Order> found = repository.findById(order.getId());
+
+        assertThat(found).isPresent();
+        assertThat(found.get()).isNotSameAs(order);
+        assertThat(found.get().getStatus()).isEqualTo(order.getStatus());
+        verify(delegate, never()).findById(any());
+        assertThat(counter("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe expulsar las órdenes en estado terminal")
+    void shouldEvictTerminalOrders() {
+        Order order = pendingOrder();
+        repository.save(order);
+        order.cancel();
+        repository.save(order);
+        when(delegate.findById(order.getId())).thenReturn(Optional.of(order));
+
+        repository.findById(order.getId());
+
+        verify(delegate, times(1)).findById(order.getId());
+        assertThat(counter("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe respetar el tamaño máximo y cargar solo los fallos en lote")
+    void shouldBoundSizeAndLoadOnlyMisses() {
+        Order first = pendingOrder();
+        Order second = pendingOrder();
+        Order third = pendingOrder();
+        repository.save(first);
+        repository.save(second);
+        repository.save(third);
+        assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isEqualTo(1.0);
+        when(delegate.findAllById(anyCollection())).thenReturn(List.of(first));
+
+        List<Order> found = repository.findAllById(List.of(first.getId(), second.getId(), third.getId()));
+
+        assertThat(found).hasSize(3);
+        verify(delegate).findAllById(List.of(first.getId()));
+    }
+
+    @Test
+    @DisplayName("Debe expulsar la orden si otro proceso la modificó antes")
+    void shouldEvictOnVersionConflict() {
+        Order order = pendingOrder();
+        repository.save(order);
+        order.confirmPayment();
+        when(delegate.save(order)).thenThrow(new ConcurrentOrderModificationException(order.getId(), 0));
+        when(delegate.findById(order.getId())).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> repository.save(order))
+                .isInstanceOf(ConcurrentOrderModificationException.class);
+        repository.findById(order.getId());
+
+        verify(delegate, times(1)).findById(order.getId());
+    }
+
+    @Test
+    @DisplayName("No debe cachear las órdenes leídas de la base de datos")
+    void shouldNotCacheReadMisses() {
+        Order order = pendingOrder();
+        when(delegate.findById(order.getId())).thenReturn(Optional.of(order));
+
+        repository.findById(order.getId());
+        repository.findById(order.getId());
+
+        verify(delegate, times(2)).findById(order.getId());
+        assertThat(counter("miss")).isEqualTo(2.0);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).functionCounter().count();
+    }
+
+    private Order pendingOrder() {
+        Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(100.0));
+        order.markPaymentPending();
+        order.clearDomainEvents();
+        return order;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.saga.order.infrastructure.adapter.output.persistence;
+
+import com.example.saga.order.domain.exception.ConcurrentOrderModificationException;
+import com.example.saga.order.domain.exception.OrderNotFoundException;
+import com.example.saga.order.domain.model.Money;
+import com.example.saga.order.domain.model.Order;
+import com.example.saga.order.domain.model.OrderId;
+import com.example.saga.order.domain.model.OrderStatus;
+import com.example.saga.order.domain.model.ProductId;
+import com.example.saga.order.domain.model.UserId;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderCursor;
+import com.example.saga.order.domain.port.output.OrderRepository.OrderSearch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests del almacén event-sourced contra H2 con el esquema de Liquibase.
+ * Con snapshot-every=2 cada pocos pasos se escribe o reescribe la instantánea.
+ */
+@JdbcTest(properties = {
+        "saga.persistence.store=events",
+        "saga.persistence.snapshot-every=2"
+})
+@Import(EventSourcedOrderRepository.class)
+class EventSourcedOrderRepositoryTest {
+
+    @Autowired
+    private EventSourcedOrderRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Debe reconstruir la orden desde sus eventos y la última instantánea")
+    void shouldReplayOrderFromEventsAndSnapshot() {
+        // Given - 5 eventos: instantánea tras el tercero y reescrita tras el cuarto
+        Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(99.5));
+        Order saved = repository.save(order);
+        saved = transition(saved, o -> {
+            o.markPaymentPending();
+            o.confirmPayment();
+        });
+        saved = transition(saved, Order::markInventoryPending);
+        saved = transition(saved, Order::confirmInventory);
+        Instant updatedAt = saved.getUpdatedAt();
+
+        // When
+        Order replayed = repository.findById(order.getId()).orElseThrow();
+
+        // Then
+        assertThat(replayed.getStatus()).isEqualTo(OrderStatus.INVENTORY_RESERVED);
+        assertThat(replayed.getVersion()).isEqualTo(4);
+        assertThat(replayed.getUserId()).isEqualTo(UserId.of(1));
+        assertThat(replayed.getPrice().toDouble()).isEqualTo(99.5);
+        assertThat(replayed.getCreatedAt()).isCloseTo(order.getCreatedAt(), within(1, ChronoUnit.MILLIS));
+        assertThat(replayed.getUpdatedAt()).isCloseTo(updatedAt, within(1, ChronoUnit.MILLIS));
+        assertThat(count("order_event", order)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM order_snapshot WHERE order_id = ?",
+                Long.class, order.getId().value())).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una escritura que parte de una versión antigua")
+    void shouldRejectStaleVersion() {
+        // Given
+        Order order = Order.create(UserId.of(1), ProductId.of(101), Money.of(10.0));
+        repository.save(order);
+        Order first = repository.findById(order.getId()).orElseThrow();
+        Order stale = repository.findById(order.getId()).orElseThrow();
+        first.markPaymentPending();
+        repository.save(first);
+
+        // When / Then
+        stale.cancel();
+        assertThatThrownBy(() -> repository.save(stale))
+                .isInstanceOf(ConcurrentOrderModificationException.class);
+        assertThat(repository.findById(order.getId())).hasValueSatisfying(
+                current -> assertThat(current.getStatus()).isEqualTo(OrderStatus.PAYMENT_PENDING));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar transiciones de órdenes que no existen")
+    void shouldRejectUnknownOrder() {
+        Instant now = Instant.now();
+        Order unknown = Order.reconstitute(OrderId.generate(), UserId.of(1), ProductId.of(101), Money.of(10.0),
+                OrderStatus.CREATED, now, now, 0);
+        unknown.markPaymentPending();
+
+        assertThatThrownBy(() -> repository.save(unknown))
+                .isInstanceOf(OrderNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Debe contar las órdenes por su último estado")
+    void shouldCountByLatestStatus() {
+        // Given
+        Order pending = Order.create(UserId.of(1), ProductId.of(101), Money.of(10.0));
+        pending.markPaymentPending();
+        Order cancelled = Order.create(UserId.of(2), ProductId.of(102), Money.of(20.0));
+        cancelled.cancel();
+        Order created = Order.create(UserId.of(3), ProductId.of(103), Money.of(30.0));
+
+        // When
+        repository.insertAll(List.of(pending, cancelled, created));
+
+        // Then
+        assertThat(repository.countByStatus()).isEqualTo(Map.of(
+                OrderStatus.PAYMENT_PENDING, 1L,
+                OrderStatus.CANCELLED, 1L,
+                OrderStatus.CREATED, 1L));
+        assertThat(repository.existsById(created.getId())).isTrue();
+        assertThat(repository.existsById(OrderId.generate())).isFalse();
+        assertThat(repository.findAllById(List.of(pending.getId(), created.getId())))
+                .extracting(Order::getStatus)
+                .containsExactlyInAnyOrder(OrderStatus.PAYMENT_PENDING, OrderStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("Debe buscar por el último estado y continuar desde el cursor")
+    void shouldSearchByLatestStatusAfterCursor() {
+        // Given - tres órdenes del usuario 7; la segunda ya no está en CREATED
+        Order first = Order.create(UserId.of(7), ProductId.of(101), Money.of(10.0));
+        Order second = Order.create(UserId.of(7), ProductId.of(102), Money.of(20.0));
+        second.markPaymentPending();
+        Order third = Order.create(UserId.of(7), ProductId.of(103), Money.of(30.0));
+        repository.insertAll(List.of(first, second, third));
+        OrderSearch createdByUser = new OrderSearch(OrderStatus.CREATED, UserId.of(7), null);
+
+        // When
+        List<Order> firstPage = repository.search(createdByUser, null, 1);
+        List<Order> secondPage = repository.search(createdByUser, OrderCursor.of(firstPage.get(0)), 10);
+
+        // Then - una en cada página (si se crearon en el mismo instante, las ordena el id)
+        assertThat(firstPage).hasSize(1);
+        assertThat(secondPage).hasSize(1);
+        assertThat(List.of(firstPage.get(0).getId(), secondPage.get(0).getId()))
+                .containsExactlyInAnyOrder(first.getId(), third.getId());
+        assertThat(repository.search(new OrderSearch(OrderStatus.PAYMENT_PENDING, UserId.of(7), null), null, 10))
+                .singleElement()
+                .satisfies(found -> {
+                    assertThat(found.getId()).isEqualTo(second.getId());
+                    assertThat(found.getVersion()).isEqualTo(1);
+                    assertThat(found.getPrice().toDouble()).isEqualTo(20.0);
+                });
+    }
+
+    private Order transition(Order saved, Consumer<Order> change) {
+        Order order = repository.findById(saved.getId()).orElseThrow();
+        change.accept(order);
+        return repository.save(order);
+    }
+
+    private Integer count(String table, Order order) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE order_id = ?",
+                Integer.class, order.getId().value());
+    }
+}
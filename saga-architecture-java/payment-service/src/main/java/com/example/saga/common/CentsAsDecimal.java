@@ -0,0 +1,41 @@
+package com.example.saga.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversión JSON de importes en céntimos.
+ *
+ * En Java los DTO llevan el importe en céntimos (long), pero en el JSON de
+ * Kafka sigue siendo el número con decimales "amount" que esperan los
+ * servicios .NET. Al leer se redondea a 2 decimales (HALF_UP).
+ */
+public final class CentsAsDecimal {
+
+    private static final int SCALE = 2;
+
+    private CentsAsDecimal() {
+    }
+
+    public static final class Serializer extends JsonSerializer<Long> {
+        @Override
+        public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(BigDecimal.valueOf(cents, SCALE));
+        }
+    }
+
+    public static final class Deserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return parser.getDecimalValue().setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+    }
+}
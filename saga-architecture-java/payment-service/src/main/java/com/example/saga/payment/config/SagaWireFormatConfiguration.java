@@ -0,0 +1,22 @@
+package com.example.saga.payment.config;
+
+import com.example.saga.common.SagaBinaryMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+
+/**
+ * Registra el formato binario compacto de la saga en Spring Cloud Stream.
+ *
+ * Los bindings de salida lo usan con content-type application/x-saga-binary
+ * (SAGA_WIRE_CONTENT_TYPE); los consumidores lo aplican a los mensajes que
+ * llegan con esa cabecera contentType y siguen aceptando JSON.
+ */
+@Configuration
+public class SagaWireFormatConfiguration {
+
+    @Bean
+    public MessageConverter sagaBinaryMessageConverter() {
+        return new SagaBinaryMessageConverter();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.saga.payment.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.stream.config.ListenerContainerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+
+/**
+ * Ejecución en hilos virtuales de los consumidores de Spring Cloud Stream.
+ *
+ * Con spring.threads.virtual.enabled=true Spring Boot ya usa hilos virtuales
+ * para Tomcat, @Async y @Scheduled, pero no para los contenedores del binder
+ * de Kafka, que procesan los comandos de pago. Este customizer les asigna un
+ * executor de hilos virtuales.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadListenerConfiguration {
+
+    @Bean
+    public ListenerContainerCustomizer<AbstractMessageListenerContainer<?, ?>> virtualThreadListenerCustomizer() {
+        return (container, destinationName, group) -> {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(destinationName + "-vt-");
+            executor.setVirtualThreads(true);
+            container.getContainerProperties().setListenerTaskExecutor(executor);
+        };
+    }
+}
@@ -8,7 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Controller;
 import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
 
+import java.nio.charset.StandardCharsets;
 import java.util.function.Consumer;
 
 @Controller
@@ -27,17 +30,21 @@ public class PaymentConsumer {
             // Check if it's a new payment or a refund
             // Simple logic: if amount is 0 or it's a known refund logic (user asked for simpler demo)
             // But wait, OrderSagaOrchestrator sends 0.0 for refund? No, imports check.
-            // Actually Orchestrator was sending 0.0 for refund.
+            // Actually Orchestrator was sending 0 for refund.
             // Let's assume if amount is positive -> debit. If we needed true refund, we might need a flag or separate topic.
             // For now, let's process standard payments.
             
-            if (paymentRequest.amount() == 0.0) {
+            if (paymentRequest.amountCents() == 0) {
                  // Amount 0 signals a Refund Command in this demo flow
                  paymentService.refundPayment(paymentRequest);
                  // We don't emit event for refund in this simplification, or we could emit PaymentRefunded
             } else {
                  PaymentEvent event = paymentService.processPayment(paymentRequest);
-                 streamBridge.send("payment-events-out-0", event);
+                 // Clave = orderId: los eventos de una orden mantienen su orden por partición
+                 streamBridge.send("payment-events-out-0", MessageBuilder.withPayload(event)
+                         .setHeader(KafkaHeaders.KEY,
+                                 paymentRequest.orderId().toString().getBytes(StandardCharsets.UTF_8))
+                         .build());
             }
         };
     }
@@ -17,7 +17,7 @@ public class PaymentTransaction {
     @Id
     private UUID orderId;
     private Integer userId;
-    private Double amount;
+    private Long amountCents;
     private Integer productId;
     private String status; // APPROVED, REJECTED, REFUNDED
 }
@@ -15,5 +15,5 @@ import lombok.NoArgsConstructor;
 public class UserBalance {
     @Id
     private Integer userId;
-    private Double balance;
+    private Long balanceCents;
 }
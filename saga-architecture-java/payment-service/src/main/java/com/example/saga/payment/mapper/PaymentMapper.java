@@ -6,6 +6,7 @@ import com.example.saga.payment.entity.PaymentTransaction;
 import com.example.saga.payment.entity.UserBalance;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring")
 public interface PaymentMapper {
@@ -13,5 +14,12 @@ public interface PaymentMapper {
     @Mapping(target = "status", constant = "PENDING")
     PaymentTransaction toTransaction(PaymentRequestDTO requestDTO);
 
+    // La API REST sigue exponiendo el saldo en unidades, con decimales
+    @Mapping(target = "balance", source = "balanceCents", qualifiedByName = "mapCentsToDouble")
     UserBalanceResponseDTO toBalanceDto(UserBalance entity);
+
+    @Named("mapCentsToDouble")
+    default Double mapCentsToDouble(Long cents) {
+        return cents != null ? cents / 100.0 : null;
+    }
 }
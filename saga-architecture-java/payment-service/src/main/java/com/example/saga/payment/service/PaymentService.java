@@ -31,13 +31,13 @@ public class PaymentService {
         PaymentTransaction transaction = new PaymentTransaction();
         transaction.setOrderId(paymentRequest.orderId());
         transaction.setUserId(paymentRequest.userId());
-        transaction.setAmount(paymentRequest.amount());
+        transaction.setAmountCents(paymentRequest.amountCents());
         transaction.setProductId(paymentRequest.productId());
 
         return balanceRepository.findById(paymentRequest.userId())
-                .filter(ub -> ub.getBalance() >= paymentRequest.amount())
+                .filter(ub -> ub.getBalanceCents() >= paymentRequest.amountCents())
                 .map(ub -> {
-                    ub.setBalance(ub.getBalance() - paymentRequest.amount());
+                    ub.setBalanceCents(ub.getBalanceCents() - paymentRequest.amountCents());
                     balanceRepository.save(ub);
                     transaction.setStatus("APPROVED");
                     transactionRepository.save(transaction);
@@ -54,16 +54,20 @@ public class PaymentService {
     public void refundPayment(PaymentRequestDTO paymentRequest) {
         log.info("Refunding payment for order: {}", paymentRequest.orderId());
 
-        // Find successful transaction to refund
-        transactionRepository.findById(paymentRequest.orderId()).ifPresent(txn -> {
-            balanceRepository.findById(paymentRequest.userId()).ifPresent(ub -> {
-                ub.setBalance(ub.getBalance() + txn.getAmount());
-                balanceRepository.save(ub);
-                log.info("Refunded {} to user {}", txn.getAmount(), paymentRequest.userId());
-            });
-            txn.setStatus("REFUNDED");
-            transactionRepository.save(txn);
-        });
+        // Find successful transaction to refund. Only APPROVED ones moved money:
+        // a refund for a rejected, already refunded or unknown payment is a no-op
+        // (order-service may send one defensively when a payment times out)
+        transactionRepository.findById(paymentRequest.orderId())
+                .filter(txn -> "APPROVED".equals(txn.getStatus()))
+                .ifPresent(txn -> {
+                    balanceRepository.findById(paymentRequest.userId()).ifPresent(ub -> {
+                        ub.setBalanceCents(ub.getBalanceCents() + txn.getAmountCents());
+                        balanceRepository.save(ub);
+                        log.info("Refunded {} cents to user {}", txn.getAmountCents(), paymentRequest.userId());
+                    });
+                    txn.setStatus("REFUNDED");
+                    transactionRepository.save(txn);
+                });
     }
 
     @Transactional(readOnly = true)
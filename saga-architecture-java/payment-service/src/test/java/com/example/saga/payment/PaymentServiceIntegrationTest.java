@@ -1,6 +1,7 @@
 package com.example.saga.payment;
 
 import com.example.saga.common.PaymentRequestDTO;
+import com.example.saga.common.SagaBinaryMessageConverter;
 import com.example.saga.payment.repository.UserBalanceRepository;
 import com.example.saga.payment.controller.UserBalanceResponseDTO;
 import org.junit.jupiter.api.Test;
@@ -36,7 +37,7 @@ public class PaymentServiceIntegrationTest {
     public void testPaymentProcessing() throws InterruptedException {
         // Given
         UUID orderId = UUID.randomUUID();
-        PaymentRequestDTO request = new PaymentRequestDTO(1, 101, orderId, 100.0);
+        PaymentRequestDTO request = new PaymentRequestDTO(1, 101, orderId, 10000L);
 
         // When
         // Actuamos como si el orquestador enviara el comando
@@ -47,7 +48,24 @@ public class PaymentServiceIntegrationTest {
         Thread.sleep(2000);
 
         // Verify balance (Initial was 1000.0 from Liquibase test data)
-        assertThat(balanceRepository.findById(1).get().getBalance()).isEqualTo(900.0);
+        assertThat(balanceRepository.findById(1).get().getBalanceCents()).isEqualTo(90000L);
+    }
+
+    @Test
+    public void testPaymentProcessingWithBinaryWireFormat() throws InterruptedException {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        PaymentRequestDTO request = new PaymentRequestDTO(2, 101, orderId, 2000L);
+
+        // When
+        // El comando viaja en el formato binario compacto (contentType application/x-saga-binary)
+        streamBridge.send("paymentRequestConsumer-in-0", request, SagaBinaryMessageConverter.SAGA_BINARY);
+
+        // Then
+        Thread.sleep(2000);
+
+        // Initial balance of user 2 is 50.0 from Liquibase test data
+        assertThat(balanceRepository.findById(2).get().getBalanceCents()).isEqualTo(3000L);
     }
 
     @Test
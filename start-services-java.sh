@@ -6,6 +6,9 @@ JAVA_DIR="$BASE_DIR/saga-architecture-java"
 INFRA_DIR="$BASE_DIR/saga-architecture-infra"
 ANGULAR_DIR="$BASE_DIR/saga-architecture-angular"
 
+# Particiones por topic (los mensajes de la saga van con clave = orderId)
+PARTITIONS="${SAGA_KAFKA_PARTITIONS:-6}"
+
 echo "🚀 Iniciando el Ecosistema Completo (Infra + Java + Angular)..."
 
 # Función para abrir una nueva pestaña en Terminal de macOS y ejecutar un comando
@@ -36,11 +39,11 @@ sleep 15
 
 # Pre-crear topics para evitar fallos de provisionamiento en Spring
 echo "📦 Pre-creando topics en Kafka..."
-docker exec saga-kafka kafka-topics --bootstrap-server 127.0.0.1:9094 --create --if-not-exists --topic order-events --partitions 1 --replication-factor 1
-docker exec saga-kafka kafka-topics --bootstrap-server 127.0.0.1:9094 --create --if-not-exists --topic payment-events --partitions 1 --replication-factor 1
-docker exec saga-kafka kafka-topics --bootstrap-server 127.0.0.1:9094 --create --if-not-exists --topic inventory-events --partitions 1 --replication-factor 1
-docker exec saga-kafka kafka-topics --bootstrap-server 127.0.0.1:9094 --create --if-not-exists --topic payment-commands --partitions 1 --replication-factor 1
-docker exec saga-kafka kafka-topics --bootstrap-server 127.0.0.1:9094 --create --if-not-exists --topic inventory-commands --partitions 1 --replication-factor 1
+for topic in order-events payment-events inventory-events payment-commands inventory-commands; do
+    docker exec saga-kafka kafka-topics --bootstrap-server 127.0.0.1:9094 --create --if-not-exists --topic "$topic" --partitions "$PARTITIONS" --replication-factor 1
+    # Topics creados antes con menos particiones: se amplían (falla sin efecto si ya las tienen)
+    docker exec saga-kafka kafka-topics --bootstrap-server 127.0.0.1:9094 --alter --topic "$topic" --partitions "$PARTITIONS" 2>/dev/null || true
+done
 
 # 1. Order Service (Puerto 8080)
 run_in_tab "$JAVA_DIR/order-service" "mvn spring-boot:run" "ORDER-SVC"